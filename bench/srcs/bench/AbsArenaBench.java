@@ -0,0 +1,115 @@
+package bench;
+
+import java.io.*;
+
+import compiler.data.abstree.*;
+import compiler.data.abstree.visitor.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import bench.arena.*;
+
+/**
+ * Abstract syntax tree store benchmark: parses a synthetic program produced by
+ * {@link PrevGen} into the abstract syntax tree and stores it in an arena, and
+ * reports the heap retained by either representation and the time of a full
+ * traversal of either representation (the arena is traversed directly as well
+ * as through the nodes constructed by its adapter).
+ *
+ * Usage: {@code AbsArenaBench [number of functions] [iterations] [PrevGen options]}
+ */
+public class AbsArenaBench {
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 1000;
+		int iters = 10;
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			if (argc++ == 0)
+				gen.funs = Integer.parseInt(arg);
+			else
+				iters = Integer.parseInt(arg);
+		}
+
+		File prg = gen.program();
+		System.out.printf("program: %s (%d functions, %d bytes)%n", prg, gen.funs, prg.length());
+
+		// The first compilation sets up the command line used by the parser.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=synan" });
+
+		// The heap footprint of both representations.
+		PhaseBench.reset();
+		long begHeap = SynAnBench.usedHeap();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+		long treeHeap = SynAnBench.usedHeap() - begHeap;
+		AbsArena arena = AbsArenaBuilder.arena(Abstr.absTree);
+		Abstr.absTree = null;
+		long arenaHeap = SynAnBench.usedHeap() - begHeap;
+		System.out.printf("%-12s %9.2f MB retained (%d nodes)%n", "objects", treeHeap / (1024.0 * 1024.0),
+				arena.size());
+		System.out.printf("%-12s %9.2f MB retained (%.2f MB of arrays)%n", "arena", arenaHeap / (1024.0 * 1024.0),
+				arena.bytes() / (1024.0 * 1024.0));
+
+		// The time of a full traversal.
+		AbsTree tree;
+		try (SynAn synan = new SynAn()) {
+			tree = synan.absParser();
+		}
+		measure("objects", iters, () -> {
+			AbsNodeCounter counter = new AbsNodeCounter();
+			tree.accept(counter, null);
+			return counter.numOfNodes;
+		});
+		measure("arena", iters, () -> count(arena, arena.root()));
+		measure("adapter", iters, () -> {
+			AbsNodeCounter counter = new AbsNodeCounter();
+			arena.tree(arena.root()).accept(counter, null);
+			return counter.numOfNodes;
+		});
+
+		prg.delete();
+	}
+
+	/**
+	 * Counts the nodes of a subtree stored in an arena.
+	 *
+	 * @param arena The arena.
+	 * @param node  The root of the subtree.
+	 * @return The number of nodes.
+	 */
+	private static long count(AbsArena arena, int node) {
+		long numOfNodes = 1;
+		for (int child = arena.firstChild(node); child != -1; child = arena.nextSibling(child))
+			numOfNodes += count(arena, child);
+		return numOfNodes;
+	}
+
+	/**
+	 * Runs a traversal a few times to warm it up and then measures its time.
+	 *
+	 * @param name  The name of the traversal.
+	 * @param iters The number of measured iterations.
+	 * @param count The traversal returning the number of nodes visited.
+	 */
+	private static void measure(String name, int iters, java.util.function.LongSupplier count) {
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			count.getAsLong();
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		long numOfNodes = 0;
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			numOfNodes = count.getAsLong();
+			long time = System.nanoTime() - beg;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-12s %9.2f ms (best) %9.2f ms (mean) %d nodes%n", name, best / 1e6,
+				total / 1e6 / iters, numOfNodes);
+	}
+
+}
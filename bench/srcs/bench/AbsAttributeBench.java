@@ -0,0 +1,383 @@
+package bench;
+
+import java.io.*;
+import java.util.*;
+
+import compiler.data.abstree.*;
+import compiler.data.abstree.attribute.*;
+import compiler.data.abstree.visitor.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import compiler.phases.seman.*;
+import compiler.phases.frames.*;
+import compiler.phases.imcgen.*;
+
+/**
+ * Attribute benchmark: compiles a synthetic program produced by
+ * {@link PrevGen} from semantic analysis up to intermediate code generation
+ * again and again and reports the time spent in each of these phases (all of
+ * which mostly compute and look up attributes of the abstract syntax tree), and
+ * measures the cost of associating a value with every node of the abstract
+ * syntax tree and looking it up again by an {@link AbsAttribute}, by an
+ * {@link AbsBoolAttribute} and by a {@link HashMap} (the way attributes used to
+ * be stored).
+ *
+ * Usage: {@code AbsAttributeBench [number of functions] [iterations] [PrevGen options]}
+ */
+public class AbsAttributeBench {
+
+	/** The names of the measured phases. */
+	private static final String[] phases = { "seman", "frames", "imcgen" };
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 200;
+		int iters = 10;
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			if (argc++ == 0)
+				gen.funs = Integer.parseInt(arg);
+			else
+				iters = Integer.parseInt(arg);
+		}
+
+		File prg = gen.program();
+		System.out.printf("program: %s (%d functions, %d bytes)%n", prg, gen.funs, prg.length());
+
+		// The first compilation sets up the command line used by all phases.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=abstr" });
+
+		long[] best = new long[phases.length + 1];
+		long[] total = new long[phases.length + 1];
+		Arrays.fill(best, Long.MAX_VALUE);
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			phases(new long[phases.length + 1]);
+		for (int iter = 0; iter < iters; iter++) {
+			long[] times = new long[phases.length + 1];
+			phases(times);
+			for (int phase = 0; phase <= phases.length; phase++) {
+				best[phase] = Math.min(best[phase], times[phase]);
+				total[phase] += times[phase];
+			}
+		}
+		for (int phase = 0; phase <= phases.length; phase++)
+			System.out.printf("%-12s %10.2f ms (best) %10.2f ms (mean)%n",
+					phase < phases.length ? phases[phase] : "total", best[phase] / 1e6, total[phase] / 1e6 / iters);
+
+		// The cost of a put and a get of every node.
+		Vector<AbsTree> nodes = new Vector<AbsTree>();
+		Abstr.absTree.accept(new NodeCollector(), nodes);
+		AbsTree[] all = nodes.toArray(new AbsTree[0]);
+		measure("HashMap", all, iters, () -> {
+			HashMap<AbsTree, Object> mapping = new HashMap<AbsTree, Object>();
+			for (AbsTree node : all)
+				mapping.put(node, node);
+			long found = 0;
+			for (AbsTree node : all)
+				found += mapping.get(node) == node ? 1 : 0;
+			return found;
+		});
+		measure("AbsAttribute", all, iters, () -> {
+			AbsAttribute<AbsTree, Object> attr = new AbsAttribute<AbsTree, Object>();
+			for (AbsTree node : all)
+				attr.put(node, node);
+			long found = 0;
+			for (AbsTree node : all)
+				found += attr.get(node) == node ? 1 : 0;
+			return found;
+		});
+		measure("HashMap<Bool>", all, iters, () -> {
+			HashMap<AbsTree, Boolean> mapping = new HashMap<AbsTree, Boolean>();
+			for (AbsTree node : all)
+				mapping.put(node, true);
+			long found = 0;
+			for (AbsTree node : all)
+				found += mapping.get(node) ? 1 : 0;
+			return found;
+		});
+		measure("AbsBoolAttr", all, iters, () -> {
+			AbsBoolAttribute<AbsTree> attr = new AbsBoolAttribute<AbsTree>();
+			for (AbsTree node : all)
+				attr.put(node, true);
+			long found = 0;
+			for (AbsTree node : all)
+				found += attr.get(node) ? 1 : 0;
+			return found;
+		});
+
+		prg.delete();
+	}
+
+	/**
+	 * Parses the program and then performs semantic analysis, computes frames and
+	 * generates intermediate code the same way as {@link compiler.Main} does but
+	 * without logging, and measures each of the last three phases.
+	 *
+	 * @param times The time spent in each phase and in all of them in
+	 *              nanoseconds.
+	 */
+	private static void phases(long[] times) {
+		PhaseBench.reset();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+
+		long beg = System.nanoTime();
+		try (SemAn seman = new SemAn()) {
+			Abstr.absTree.accept(new NameResolver(), null);
+			Abstr.absTree.accept(new TypeResolver(), null);
+			Abstr.absTree.accept(new AddrResolver(), null);
+			SemAn.declaredAt.lock();
+			SemAn.declaresType.lock();
+			SemAn.isType.lock();
+			SemAn.ofType.lock();
+			SemAn.isAddr.lock();
+		}
+		long mid1 = System.nanoTime();
+		try (Frames frames = new Frames()) {
+			Abstr.absTree.accept(new FrmEvaluator(), null);
+			Frames.frames.lock();
+			Frames.accesses.lock();
+			Frames.strings.lock();
+		}
+		long mid2 = System.nanoTime();
+		try (ImcGen imcGen = new ImcGen()) {
+			Abstr.absTree.accept(new CodeGenerator(), new Stack<compiler.data.layout.Frame>());
+			ImcGen.stmtImCode.lock();
+			ImcGen.exprImCode.lock();
+		}
+		long end = System.nanoTime();
+		times[0] = mid1 - beg;
+		times[1] = mid2 - mid1;
+		times[2] = end - mid2;
+		times[3] = end - beg;
+	}
+
+	/**
+	 * Runs a put and a get of every node a few times to warm it up and then
+	 * measures its time.
+	 *
+	 * @param name  The name of the attribute storage.
+	 * @param nodes All nodes of the abstract syntax tree.
+	 * @param iters The number of measured iterations.
+	 * @param run   The puts and gets returning the number of values found.
+	 */
+	private static void measure(String name, AbsTree[] nodes, int iters, java.util.function.LongSupplier run) {
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			run.getAsLong();
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		long found = 0;
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			found = run.getAsLong();
+			long time = System.nanoTime() - beg;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-12s %10.2f ns/node (best) %10.2f ns/node (mean) %d of %d nodes%n", name,
+				(double) best / nodes.length, (double) total / iters / nodes.length, found, nodes.length);
+	}
+
+	/**
+	 * A visitor that collects all nodes of an abstract syntax tree.
+	 */
+	private static class NodeCollector extends AbsFullVisitor<Object, Vector<AbsTree>> {
+
+		@Override
+		public Object visit(AbsArgs args, Vector<AbsTree> nodes) {
+			nodes.add(args);
+			return super.visit(args, nodes);
+		}
+
+		@Override
+		public Object visit(AbsArrExpr arrExpr, Vector<AbsTree> nodes) {
+			nodes.add(arrExpr);
+			return super.visit(arrExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsArrType arrType, Vector<AbsTree> nodes) {
+			nodes.add(arrType);
+			return super.visit(arrType, nodes);
+		}
+
+		@Override
+		public Object visit(AbsAssignStmt assignStmt, Vector<AbsTree> nodes) {
+			nodes.add(assignStmt);
+			return super.visit(assignStmt, nodes);
+		}
+
+		@Override
+		public Object visit(AbsAtomExpr atomExpr, Vector<AbsTree> nodes) {
+			nodes.add(atomExpr);
+			return super.visit(atomExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsAtomType atomType, Vector<AbsTree> nodes) {
+			nodes.add(atomType);
+			return super.visit(atomType, nodes);
+		}
+
+		@Override
+		public Object visit(AbsBinExpr binExpr, Vector<AbsTree> nodes) {
+			nodes.add(binExpr);
+			return super.visit(binExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsBlockExpr blockExpr, Vector<AbsTree> nodes) {
+			nodes.add(blockExpr);
+			return super.visit(blockExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsCastExpr castExpr, Vector<AbsTree> nodes) {
+			nodes.add(castExpr);
+			return super.visit(castExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsCompDecl compDecl, Vector<AbsTree> nodes) {
+			nodes.add(compDecl);
+			return super.visit(compDecl, nodes);
+		}
+
+		@Override
+		public Object visit(AbsCompDecls compDecls, Vector<AbsTree> nodes) {
+			nodes.add(compDecls);
+			return super.visit(compDecls, nodes);
+		}
+
+		@Override
+		public Object visit(AbsDecls decls, Vector<AbsTree> nodes) {
+			nodes.add(decls);
+			return super.visit(decls, nodes);
+		}
+
+		@Override
+		public Object visit(AbsDelExpr delExpr, Vector<AbsTree> nodes) {
+			nodes.add(delExpr);
+			return super.visit(delExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsExprStmt exprStmt, Vector<AbsTree> nodes) {
+			nodes.add(exprStmt);
+			return super.visit(exprStmt, nodes);
+		}
+
+		@Override
+		public Object visit(AbsFunDecl funDecl, Vector<AbsTree> nodes) {
+			nodes.add(funDecl);
+			return super.visit(funDecl, nodes);
+		}
+
+		@Override
+		public Object visit(AbsFunDef funDef, Vector<AbsTree> nodes) {
+			nodes.add(funDef);
+			return super.visit(funDef, nodes);
+		}
+
+		@Override
+		public Object visit(AbsFunName funName, Vector<AbsTree> nodes) {
+			nodes.add(funName);
+			return super.visit(funName, nodes);
+		}
+
+		@Override
+		public Object visit(AbsIfStmt ifStmt, Vector<AbsTree> nodes) {
+			nodes.add(ifStmt);
+			return super.visit(ifStmt, nodes);
+		}
+
+		@Override
+		public Object visit(AbsNewExpr newExpr, Vector<AbsTree> nodes) {
+			nodes.add(newExpr);
+			return super.visit(newExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsParDecl parDecl, Vector<AbsTree> nodes) {
+			nodes.add(parDecl);
+			return super.visit(parDecl, nodes);
+		}
+
+		@Override
+		public Object visit(AbsParDecls parDecls, Vector<AbsTree> nodes) {
+			nodes.add(parDecls);
+			return super.visit(parDecls, nodes);
+		}
+
+		@Override
+		public Object visit(AbsPtrType ptrType, Vector<AbsTree> nodes) {
+			nodes.add(ptrType);
+			return super.visit(ptrType, nodes);
+		}
+
+		@Override
+		public Object visit(AbsRecExpr recExpr, Vector<AbsTree> nodes) {
+			nodes.add(recExpr);
+			return super.visit(recExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsRecType recType, Vector<AbsTree> nodes) {
+			nodes.add(recType);
+			return super.visit(recType, nodes);
+		}
+
+		@Override
+		public Object visit(AbsSource source, Vector<AbsTree> nodes) {
+			nodes.add(source);
+			return super.visit(source, nodes);
+		}
+
+		@Override
+		public Object visit(AbsStmts stmts, Vector<AbsTree> nodes) {
+			nodes.add(stmts);
+			return super.visit(stmts, nodes);
+		}
+
+		@Override
+		public Object visit(AbsTypDecl typDecl, Vector<AbsTree> nodes) {
+			nodes.add(typDecl);
+			return super.visit(typDecl, nodes);
+		}
+
+		@Override
+		public Object visit(AbsTypName typName, Vector<AbsTree> nodes) {
+			nodes.add(typName);
+			return super.visit(typName, nodes);
+		}
+
+		@Override
+		public Object visit(AbsUnExpr unExpr, Vector<AbsTree> nodes) {
+			nodes.add(unExpr);
+			return super.visit(unExpr, nodes);
+		}
+
+		@Override
+		public Object visit(AbsVarDecl varDecl, Vector<AbsTree> nodes) {
+			nodes.add(varDecl);
+			return super.visit(varDecl, nodes);
+		}
+
+		@Override
+		public Object visit(AbsVarName varName, Vector<AbsTree> nodes) {
+			nodes.add(varName);
+			return super.visit(varName, nodes);
+		}
+
+		@Override
+		public Object visit(AbsWhileStmt whileStmt, Vector<AbsTree> nodes) {
+			nodes.add(whileStmt);
+			return super.visit(whileStmt, nodes);
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+package bench;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.regex.*;
+
+import compiler.data.symbol.*;
+import compiler.phases.lexan.*;
+
+/**
+ * Keyword recognition benchmark: classifies all words (identifiers and
+ * keywords) of the PREV programs using a {@link HashMap} lookup of a newly
+ * constructed {@link String} and using {@link Keywords} and reports the
+ * throughput in MB/s.
+ * 
+ * Usage: {@code KeywordsBench [number of words in millions] [iterations] [directory with .prev files]}
+ */
+public class KeywordsBench {
+
+	public static void main(String[] args) throws IOException {
+		int count = (args.length > 0 ? Integer.parseInt(args[0]) : 4) * 1000 * 1000;
+		int iters = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String prgsDir = args.length > 2 ? args[2] : "../prgs";
+
+		Vector<String> words = words(prgsDir);
+		char[] buf = new char[count * 8];
+		int[] offs = new int[count + 1];
+		int len = 0;
+		for (int word = 0; word < count; word++) {
+			String w = words.get(word % words.size());
+			if (len + w.length() > buf.length)
+				buf = Arrays.copyOf(buf, 2 * buf.length);
+			w.getChars(0, w.length(), buf, len);
+			offs[word] = len;
+			len += w.length();
+		}
+		offs[count] = len;
+		final char[] text = buf;
+		double mbytes = len / (1024.0 * 1024.0);
+		System.out.printf("words: %d (%.2f MB)%n", count, mbytes);
+
+		HashMap<String, Symbol.Term> keywordMap = new HashMap<String, Symbol.Term>();
+		for (String keyword : new String[] { "arr", "bool", "char", "del", "do", "else", "end", "fun", "if", "int",
+				"new", "ptr", "rec", "then", "typ", "var", "void", "where", "while", "none", "true", "false", "null" })
+			keywordMap.put(keyword, Keywords.keyword(keyword.toCharArray(), 0, keyword.length()));
+
+		LexAnBench.measure("HashMap", mbytes, iters, () -> {
+			int keywords = 0;
+			for (int word = 0; word < count; word++) {
+				String w = new String(text, offs[word], offs[word + 1] - offs[word]);
+				if (keywordMap.getOrDefault(w, Symbol.Term.IDENTIFIER) != Symbol.Term.IDENTIFIER)
+					keywords++;
+			}
+			return keywords;
+		});
+		LexAnBench.measure("Keywords", mbytes, iters, () -> {
+			int keywords = 0;
+			for (int word = 0; word < count; word++) {
+				if (Keywords.keyword(text, offs[word], offs[word + 1] - offs[word]) != Symbol.Term.IDENTIFIER)
+					keywords++;
+			}
+			return keywords;
+		});
+	}
+
+	/**
+	 * Collects all words (in order of appearance) of all PREV programs found in
+	 * the specified directory.
+	 * 
+	 * @param prgsDir The directory containing PREV programs.
+	 * @return The words.
+	 */
+	static Vector<String> words(String prgsDir) throws IOException {
+		Vector<String> words = new Vector<String>();
+		Pattern word = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+		try (var paths = Files.walk(Paths.get(prgsDir))) {
+			for (Path path : (Iterable<Path>) paths.filter(p -> p.toString().endsWith(".prev")).sorted()::iterator) {
+				Matcher matcher = word.matcher(new String(Files.readAllBytes(path)).replaceAll("#.*", ""));
+				while (matcher.find())
+					words.add(matcher.group());
+			}
+		}
+		if (words.isEmpty())
+			throw new IOException("No PREV programs found in '" + prgsDir + "'.");
+		return words;
+	}
+
+}
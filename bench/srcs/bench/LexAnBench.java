@@ -0,0 +1,137 @@
+package bench;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import compiler.data.symbol.*;
+import compiler.phases.lexan.*;
+import bench.lexan.*;
+
+/**
+ * Lexer throughput benchmark: scans the same corpus with the original
+ * per-character {@code String} lexer and with {@link LexAn} (reading the source
+ * through a reader and memory mapping it, and producing a compact
+ * {@link TokenStream}) and reports the throughput in MB/s.
+ * 
+ * Usage: {@code LexAnBench [corpus size in MB] [iterations] [directory with .prev files]}
+ */
+public class LexAnBench {
+
+	public static void main(String[] args) throws IOException {
+		long size = (args.length > 0 ? Long.parseLong(args[0]) : 8) * 1024 * 1024;
+		int iters = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String prgsDir = args.length > 2 ? args[2] : "../prgs";
+
+		File corpus = corpus(prgsDir, size);
+		double mbytes = corpus.length() / (1024.0 * 1024.0);
+		System.out.printf("corpus: %s (%.2f MB)%n", corpus, mbytes);
+
+		measure("StringLexAn", mbytes, iters, () -> {
+			int tokens = 0;
+			try (StringLexAn lexan = new StringLexAn(corpus.getPath())) {
+				while (lexan.lexer().token != Symbol.Term.EOF)
+					tokens++;
+			}
+			return tokens;
+		});
+		measure("LexAn", mbytes, iters, () -> {
+			int tokens = 0;
+			try (LexAn lexan = new LexAn(corpus.getPath(), false, 1)) {
+				while (lexan.lexer().token != Symbol.Term.EOF)
+					tokens++;
+			}
+			return tokens;
+		});
+		measure("LexAn mmap", mbytes, iters, () -> {
+			int tokens = 0;
+			try (LexAn lexan = new LexAn(corpus.getPath(), true, 1)) {
+				while (lexan.lexer().token != Symbol.Term.EOF)
+					tokens++;
+			}
+			return tokens;
+		});
+
+		measure("LexAn tokens", mbytes, iters, () -> {
+			try (LexAn lexan = new LexAn(corpus.getPath(), false, 1)) {
+				TokenStream tokens = new TokenStream(LexAn.lexemes);
+				while (lexan.lexer(tokens) != Symbol.Term.EOF)
+					;
+				return tokens.size() - 1;
+			}
+		});
+
+		corpus.delete();
+	}
+
+	/**
+	 * A single run of a benchmarked lexer.
+	 */
+	interface Run {
+
+		/**
+		 * Scans the whole corpus.
+		 *
+		 * @return The number of tokens scanned.
+		 */
+		int run();
+
+	}
+
+	/**
+	 * Runs a lexer a few times to warm it up and then measures the throughput.
+	 * 
+	 * @param name   The name of the lexer.
+	 * @param mbytes The size of the corpus in MB.
+	 * @param iters  The number of measured iterations.
+	 * @param run    The lexer run.
+	 */
+	static void measure(String name, double mbytes, int iters, Run run) {
+		int tokens = 0;
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			tokens = run.run();
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			run.run();
+			long time = System.nanoTime() - beg;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-12s %10d tokens %9.2f MB/s (best) %9.2f MB/s (mean)%n", name, tokens,
+				mbytes / (best / 1e9), mbytes / (total / 1e9 / iters));
+	}
+
+	/**
+	 * Writes a corpus of the requested size by repeatedly concatenating all PREV
+	 * programs found in the specified directory.
+	 * 
+	 * @param prgsDir The directory containing PREV programs.
+	 * @param size    The minimal size of the corpus in bytes.
+	 * @return The corpus file.
+	 */
+	static File corpus(String prgsDir, long size) throws IOException {
+		Vector<byte[]> prgs = new Vector<byte[]>();
+		try (var paths = Files.walk(Paths.get(prgsDir))) {
+			for (Path path : (Iterable<Path>) paths.filter(p -> p.toString().endsWith(".prev")).sorted()::iterator)
+				prgs.add(Files.readAllBytes(path));
+		}
+		if (prgs.isEmpty())
+			throw new IOException("No PREV programs found in '" + prgsDir + "'.");
+
+		File corpus = File.createTempFile("lexan", ".prev");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(corpus))) {
+			long written = 0;
+			while (written < size) {
+				for (byte[] prg : prgs) {
+					out.write(prg);
+					out.write('\n');
+					written += prg.length + 1;
+				}
+			}
+		}
+		return corpus;
+	}
+
+}
@@ -0,0 +1,87 @@
+package bench;
+
+import java.io.*;
+
+import compiler.data.abstree.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+
+/**
+ * Stress test of long lists: parses a program consisting of many top-level
+ * declarations, one of them a function whose body contains as many statements,
+ * into the derivation tree and then the abstract syntax tree as well as
+ * directly into the abstract syntax tree, checks the lengths of the lists in
+ * the abstract syntax tree and reports the time spent.
+ *
+ * It is run with the default stack size on purpose: parsing and constructing
+ * the abstract syntax tree must not recurse once per list element.
+ *
+ * Usage: {@code ListStress [number of declarations and statements]}
+ */
+public class ListStress {
+
+	public static void main(String[] args) throws IOException {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+		File prg = File.createTempFile("liststress", ".prev");
+		try (Writer out = new BufferedWriter(new FileWriter(prg))) {
+			for (int decl = 0; decl < size; decl++)
+				out.write("var v" + decl + " : int;\n");
+			out.write("fun f(x : int) : int = {\n");
+			for (int stmt = 0; stmt < size; stmt++)
+				out.write("\tx = x + " + stmt + ";\n");
+			out.write("\t: x\n};\n");
+		}
+		System.out.printf("program: %s (%d declarations, %d statements, %d bytes)%n", prg, size + 1, size,
+				prg.length());
+
+		// The first compilation sets up the command line used by the parser.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=synan" });
+
+		boolean ok = true;
+
+		PhaseBench.reset();
+		long beg = System.nanoTime();
+		try (SynAn synan = new SynAn()) {
+			synan.parser();
+		}
+		long mid = System.nanoTime();
+		Abstr.absTree = SynAn.derTree.accept(new AbsTreeConstructor(), null);
+		long end = System.nanoTime();
+		System.out.printf("%-12s %10.2f ms%n", "SynAn", (mid - beg) / 1e6);
+		System.out.printf("%-12s %10.2f ms%n", "Abstr", (end - mid) / 1e6);
+		ok &= check("SynAn+Abstr", (AbsSource) Abstr.absTree, size);
+
+		PhaseBench.reset();
+		beg = System.nanoTime();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+		end = System.nanoTime();
+		System.out.printf("%-12s %10.2f ms%n", "SynAn direct", (end - beg) / 1e6);
+		ok &= check("SynAn direct", (AbsSource) Abstr.absTree, size);
+
+		prg.delete();
+		if (!ok)
+			System.exit(1);
+	}
+
+	/**
+	 * Checks the lengths of the lists in the abstract syntax tree.
+	 *
+	 * @param name The name of the parser.
+	 * @param src  The abstract syntax tree.
+	 * @param size The number of variable declarations and statements.
+	 * @return Whether the lengths are correct.
+	 */
+	private static boolean check(String name, AbsSource src, int size) {
+		int numDecls = src.decls.numDecls();
+		AbsFunDef funDef = (AbsFunDef) src.decls.decl(numDecls - 1);
+		int numStmts = ((AbsBlockExpr) funDef.value).stmts.numStmts();
+		boolean ok = (numDecls == size + 1) && (numStmts == size);
+		System.out.printf("%-12s %d declarations, %d statements: %s%n", name, numDecls, numStmts,
+				ok ? "OK" : "WRONG");
+		return ok;
+	}
+
+}
@@ -0,0 +1,119 @@
+package bench;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import compiler.common.report.*;
+import compiler.data.symbol.*;
+import compiler.phases.lexan.*;
+
+/**
+ * Parallel lexer benchmark: first checks that lexing in parallel produces the
+ * same symbols (and the same lexical error, if any) as lexing sequentially,
+ * and then reports the throughput in MB/s for different numbers of threads.
+ *
+ * Usage: {@code ParLexAnBench [corpus size in MB] [iterations] [directory with .prev files]}
+ */
+public class ParLexAnBench {
+
+	public static void main(String[] args) throws IOException {
+		long size = (args.length > 0 ? Long.parseLong(args[0]) : 8) * 1024 * 1024;
+		int iters = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String prgsDir = args.length > 2 ? args[2] : "../prgs";
+
+		File corpus = LexAnBench.corpus(prgsDir, size);
+		double mbytes = corpus.length() / (1024.0 * 1024.0);
+		System.out.printf("corpus: %s (%.2f MB)%n", corpus, mbytes);
+
+		// Check the equivalence with the sequential lexer.
+		File erroneous = File.createTempFile("lexan", ".prev");
+		byte[] src = Files.readAllBytes(corpus.toPath());
+		int errPos = src.length * 2 / 3;
+		while (src[errPos - 1] != '\n')
+			errPos++;
+		try (OutputStream out = new FileOutputStream(erroneous)) {
+			out.write(src, 0, errPos);
+			out.write("\"unterminated\n".getBytes());
+			out.write(src, errPos, src.length - errPos);
+		}
+		boolean equivalent = true;
+		try (var paths = Files.walk(Paths.get(prgsDir))) {
+			for (Path path : (Iterable<Path>) paths.filter(p -> p.toString().endsWith(".prev")).sorted()::iterator)
+				equivalent &= check(path.toString(), 4, false);
+		}
+		for (int threads : new int[] { 2, 3, 4, 8 }) {
+			equivalent &= check(corpus.getPath(), threads, false);
+			equivalent &= check(corpus.getPath(), threads, true);
+			equivalent &= check(erroneous.getPath(), threads, false);
+		}
+		erroneous.delete();
+		if (!equivalent) {
+			corpus.delete();
+			System.exit(1);
+		}
+
+		for (int threads : new int[] { 1, 2, 4, 8 }) {
+			LexAnBench.measure("LexAn x" + threads, mbytes, iters, () -> {
+				try (LexAn lexan = new LexAn(corpus.getPath(), false, threads)) {
+					TokenStream tokens = new TokenStream(LexAn.lexemes);
+					while (lexan.lexer(tokens) != Symbol.Term.EOF)
+						;
+					return tokens.size() - 1;
+				}
+			});
+		}
+
+		corpus.delete();
+	}
+
+	/**
+	 * Checks that lexing in parallel produces the same symbols (and the same
+	 * lexical error, if any) as lexing sequentially.
+	 *
+	 * @param srcFileName The name of the source file.
+	 * @param threads     The number of threads.
+	 * @param mmap        Whether the source file should be memory mapped.
+	 * @return {@code true} if the symbols are the same, {@code false} otherwise.
+	 */
+	static boolean check(String srcFileName, int threads, boolean mmap) {
+		Vector<String> seqSymbs = new Vector<String>();
+		String seqError = lex(new LexAn(srcFileName, mmap, 1), seqSymbs);
+		Vector<String> parSymbs = new Vector<String>();
+		String parError = lex(new LexAn(srcFileName, mmap, threads), parSymbs);
+		if (seqSymbs.equals(parSymbs) && seqError.equals(parError))
+			return true;
+		int index = 0;
+		while ((index < seqSymbs.size()) && (index < parSymbs.size()) && seqSymbs.get(index).equals(parSymbs.get(index)))
+			index++;
+		System.out.printf("MISMATCH %s (%d threads%s) at symbol %d: %s vs. %s%n", srcFileName, threads,
+				mmap ? ", mmap" : "", index, index < seqSymbs.size() ? seqSymbs.get(index) : seqError,
+				index < parSymbs.size() ? parSymbs.get(index) : parError);
+		return false;
+	}
+
+	/**
+	 * Lexes the entire source file.
+	 *
+	 * @param lexan The lexer.
+	 * @param symbs The symbols (with their locations) found in the source file.
+	 * @return The lexical error message (or an empty string if there is none).
+	 */
+	static String lex(LexAn lexan, Vector<String> symbs) {
+		PrintStream err = System.err;
+		ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+		System.setErr(new PrintStream(errBytes));
+		try (lexan) {
+			Symbol symb;
+			do {
+				symb = lexan.lexer();
+				symbs.add(symb.token + " " + symb.lexeme + " " + symb.location());
+			} while (symb.token != Symbol.Term.EOF);
+		} catch (Report.Error __) {
+		} finally {
+			System.setErr(err);
+		}
+		return errBytes.toString();
+	}
+
+}
@@ -0,0 +1,324 @@
+package bench;
+
+import java.util.*;
+
+import compiler.common.report.*;
+import compiler.data.abstree.*;
+import compiler.data.symbol.*;
+
+/**
+ * Persistent symbol table.
+ *
+ * Names are identified by their ids in a pool of lexemes. The declarations
+ * visible within the currently active scope are kept in an immutable hash array
+ * mapped trie indexed by the ids of their names (five bits of an id per level).
+ * Inserting a declaration copies only the nodes on the path from the root of the
+ * trie to the declaration while all other nodes are shared with the enclosing
+ * scopes. Hence constructing a new scope merely remembers the current root and
+ * destroying the scope restores it, both in constant time regardless of the
+ * number of names declared within the scope.
+ *
+ * Used by {@link SymbTableBench} only. It is not used by
+ * {@link compiler.phases.seman.NameResolver}. With names interned there, name
+ * resolution was about 2.5 times slower than with
+ * {@link compiler.phases.seman.SymbTable} (see {@link SemAnBench}), because the
+ * abstract syntax tree carries names as strings, not as ids.
+ */
+public class PersistentSymbTable {
+
+	/** The number of bits of a name id indexing a node of the trie. */
+	private static final int BITS = 5;
+
+	/** The mask of the bits of a name id indexing a node of the trie. */
+	private static final int MASK = (1 << BITS) - 1;
+
+	/**
+	 * A symbol table record denoting a declaration of a name within a certain
+	 * scope.
+	 */
+	private static final class ScopedDecl {
+
+		/** The id of the name. */
+		public final int nameId;
+
+		/** The depth of the scope the declaration belongs to. */
+		public final int depth;
+
+		/** The declaration. */
+		public final AbsDecl decl;
+
+		/**
+		 * Constructs a new record denoting a declaration of a name within a certain
+		 * scope.
+		 *
+		 * @param nameId The id of the name.
+		 * @param depth  The depth of the scope the declaration belongs to.
+		 * @param decl   The declaration.
+		 */
+		public ScopedDecl(int nameId, int depth, AbsDecl decl) {
+			this.nameId = nameId;
+			this.depth = depth;
+			this.decl = decl;
+		}
+
+	}
+
+	/**
+	 * A node of the trie. Each child is either a node or a record and is present
+	 * only if the corresponding bit of the bitmap is set.
+	 */
+	private static final class Node {
+
+		/** The bitmap of present children. */
+		public final int bitmap;
+
+		/** The present children. */
+		public final Object[] children;
+
+		/**
+		 * Constructs a new node.
+		 *
+		 * @param bitmap   The bitmap of present children.
+		 * @param children The present children.
+		 */
+		public Node(int bitmap, Object[] children) {
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+	}
+
+	/** The empty trie. */
+	private static final Node EMPTY = new Node(0, new Object[0]);
+
+	/** The pool the names are interned in. */
+	private final LexemePool names;
+
+	/** The declarations visible within the currently active scope. */
+	private Node root;
+
+	/**
+	 * The roots of the tries of the enclosing scopes (the root of the scope at
+	 * depth {@code d} is at index {@code d - 1}).
+	 */
+	private Node[] roots;
+
+	/** The depth of the currently active scope. */
+	private int currDepth;
+
+	/** Whether the symbol table can no longer be modified or not. */
+	private boolean lock;
+
+	/**
+	 * Constructs a new symbol table.
+	 *
+	 * @param names The pool the names are interned in.
+	 */
+	public PersistentSymbTable(LexemePool names) {
+		this.names = names;
+		root = EMPTY;
+		roots = new Node[16];
+		currDepth = 0;
+		lock = false;
+		newScope();
+	}
+
+	/**
+	 * Returns the depth of the currently active scope.
+	 *
+	 * @return The depth of the currently active scope.
+	 */
+	public int currDepth() {
+		return currDepth;
+	}
+
+	/**
+	 * Inserts a new declaration of a name within the currently active scope or
+	 * throws an exception if this name has already been declared within this scope.
+	 * Once the symbol table is locked, any attempt to insert further declarations
+	 * results in an internal error.
+	 *
+	 * @param name The name.
+	 * @param decl The declaration.
+	 * @throws CannotInsNameException Thrown if this name has already been declared
+	 *                                within the currently active scope.
+	 */
+	public void ins(String name, AbsDecl decl) throws CannotInsNameException {
+		ins(names.intern(name), decl);
+	}
+
+	/**
+	 * Inserts a new declaration of a name given by its id within the currently
+	 * active scope or throws an exception if this name has already been declared
+	 * within this scope.
+	 *
+	 * @param nameId The id of the name.
+	 * @param decl   The declaration.
+	 * @throws CannotInsNameException Thrown if this name has already been declared
+	 *                                within the currently active scope.
+	 */
+	public void ins(int nameId, AbsDecl decl) throws CannotInsNameException {
+		if (lock)
+			throw new Report.InternalError();
+
+		ScopedDecl declOfName = find(nameId);
+		if ((declOfName != null) && (declOfName.depth == currDepth))
+			throw new CannotInsNameException();
+
+		root = insert(root, 0, new ScopedDecl(nameId, currDepth, decl));
+	}
+
+	/**
+	 * Returns the currently visible declaration of the specified name. This
+	 * declaration can belong either to the currently active scope or any scope
+	 * enclosing it. If no declaration of the name exists within these scopes, an
+	 * exception is thrown.
+	 *
+	 * @param name The name.
+	 * @return The declaration.
+	 * @throws CannotFndNameException Thrown if the name is not declared within the
+	 *                                currently active scope or any scope enclosing
+	 *                                it.
+	 */
+	public AbsDecl fnd(String name) throws CannotFndNameException {
+		return fnd(names.intern(name));
+	}
+
+	/**
+	 * Returns the currently visible declaration of the name given by its id.
+	 *
+	 * @param nameId The id of the name.
+	 * @return The declaration.
+	 * @throws CannotFndNameException Thrown if the name is not declared within the
+	 *                                currently active scope or any scope enclosing
+	 *                                it.
+	 */
+	public AbsDecl fnd(int nameId) throws CannotFndNameException {
+		ScopedDecl declOfName = find(nameId);
+		if (declOfName == null)
+			throw new CannotFndNameException();
+		return declOfName.decl;
+	}
+
+	/**
+	 * Constructs a new scope within the currently active scope. The newly
+	 * constructed scope becomes the currently active scope.
+	 */
+	public void newScope() {
+		if (lock)
+			throw new Report.InternalError();
+
+		if (currDepth == roots.length)
+			roots = Arrays.copyOf(roots, 2 * roots.length);
+		roots[currDepth] = root;
+		currDepth++;
+	}
+
+	/**
+	 * Destroys the currently active scope by restoring the declarations visible
+	 * within the enclosing scope. Makes the enclosing scope the currently active
+	 * scope.
+	 */
+	public void oldScope() {
+		if (lock)
+			throw new Report.InternalError();
+
+		if (currDepth == 0)
+			throw new Report.InternalError();
+
+		currDepth--;
+		root = roots[currDepth];
+		roots[currDepth] = null;
+	}
+
+	/**
+	 * Prevents further modification of this symbol table.
+	 */
+	public void lock() {
+		lock = true;
+	}
+
+	/**
+	 * Returns the record of the currently visible declaration of the name given by
+	 * its id.
+	 *
+	 * @param nameId The id of the name.
+	 * @return The record or {@code null} if the name is not declared.
+	 */
+	private ScopedDecl find(int nameId) {
+		Node node = root;
+		for (int shift = 0;; shift += BITS) {
+			int bit = 1 << ((nameId >>> shift) & MASK);
+			if ((node.bitmap & bit) == 0)
+				return null;
+			Object child = node.children[Integer.bitCount(node.bitmap & (bit - 1))];
+			if (child instanceof Node)
+				node = (Node) child;
+			else {
+				ScopedDecl declOfName = (ScopedDecl) child;
+				return declOfName.nameId == nameId ? declOfName : null;
+			}
+		}
+	}
+
+	/**
+	 * Returns a copy of a trie with a record inserted (replacing the record of the
+	 * same name if any).
+	 *
+	 * @param node  The root of the trie.
+	 * @param shift The number of bits of name ids consumed by the levels above.
+	 * @param decl  The record.
+	 * @return The root of the new trie.
+	 */
+	private static Node insert(Node node, int shift, ScopedDecl decl) {
+		int bit = 1 << ((decl.nameId >>> shift) & MASK);
+		int index = Integer.bitCount(node.bitmap & (bit - 1));
+		if ((node.bitmap & bit) == 0) {
+			Object[] children = new Object[node.children.length + 1];
+			System.arraycopy(node.children, 0, children, 0, index);
+			children[index] = decl;
+			System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+			return new Node(node.bitmap | bit, children);
+		}
+		Object child = node.children[index];
+		Object[] children = node.children.clone();
+		if (child instanceof Node)
+			children[index] = insert((Node) child, shift + BITS, decl);
+		else if (((ScopedDecl) child).nameId == decl.nameId)
+			children[index] = decl;
+		else
+			children[index] = insert(insert(EMPTY, shift + BITS, (ScopedDecl) child), shift + BITS, decl);
+		return new Node(node.bitmap, children);
+	}
+
+	/**
+	 * An exception thrown when the name cannot be inserted into a symbol table.
+	 *
+	 */
+	@SuppressWarnings("serial")
+	public class CannotInsNameException extends Exception {
+
+		/**
+		 * Constructs a new exception.
+		 */
+		private CannotInsNameException() {
+		}
+
+	}
+
+	/**
+	 * An exception thrown when the name cannot be found in the symbol table.
+	 *
+	 */
+	@SuppressWarnings("serial")
+	public class CannotFndNameException extends Exception {
+
+		/**
+		 * Constructs a new exception.
+		 */
+		private CannotFndNameException() {
+		}
+
+	}
+
+}
@@ -0,0 +1,230 @@
+package bench;
+
+import java.io.*;
+import java.util.*;
+
+import compiler.*;
+import compiler.data.abstree.*;
+import compiler.data.symbol.*;
+import compiler.phases.lexan.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import compiler.phases.seman.*;
+import compiler.phases.frames.*;
+import compiler.phases.imcgen.*;
+import compiler.phases.chunks.*;
+import compiler.phases.asmcode.*;
+import compiler.phases.livean.*;
+import compiler.phases.ralloc.*;
+import compiler.phases.endproduct.*;
+
+/**
+ * Compiler phase benchmark: compiles a synthetic program produced by
+ * {@link PrevGen} again and again and reports the time spent in each phase
+ * (without logging) and the time of the entire compilation done by
+ * {@link Main}.
+ *
+ * Every iteration compiles the program from scratch, i.e., each phase is
+ * measured on the fresh results of the preceding phases. The lexer is measured
+ * on its own (scanning the whole program into a {@link TokenStream}) while
+ * {@code synan} includes lexing as the parser drives the lexer.
+ *
+ * Usage: {@code PhaseBench [number of functions] [iterations] [PrevGen options]}
+ */
+public class PhaseBench {
+
+	/** The names of the measured phases. */
+	private static final String[] phases = { "lexan", "synan", "abstr", "seman", "frames", "imcgen", "chunks",
+			"asmgen", "livean", "ralloc", "endproduct" };
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 20;
+		int iters = 5;
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			if (argc++ == 0)
+				gen.funs = Integer.parseInt(arg);
+			else
+				iters = Integer.parseInt(arg);
+		}
+
+		File prg = gen.program();
+		String mms = prg.getPath().replaceFirst("\\.[^./]*$", "") + ".mms";
+		System.out.printf("program: %s (%d functions, %d bytes)%n", prg, gen.funs, prg.length());
+
+		// The first compilation sets up the command line used by all phases (and
+		// by all subsequent compilations).
+		compile(new String[] { prg.getPath() });
+
+		long[] best = new long[phases.length];
+		long[] total = new long[phases.length];
+		Arrays.fill(best, Long.MAX_VALUE);
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			phases(prg.getPath(), new long[phases.length]);
+		for (int iter = 0; iter < iters; iter++) {
+			long[] times = new long[phases.length];
+			phases(prg.getPath(), times);
+			for (int phase = 0; phase < phases.length; phase++) {
+				best[phase] = Math.min(best[phase], times[phase]);
+				total[phase] += times[phase];
+			}
+		}
+		for (int phase = 0; phase < phases.length; phase++)
+			report(phases[phase], best[phase], total[phase], iters);
+
+		long bestAll = Long.MAX_VALUE;
+		long totalAll = 0;
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			compile(new String[] {});
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			compile(new String[] {});
+			long time = System.nanoTime() - beg;
+			bestAll = Math.min(bestAll, time);
+			totalAll += time;
+		}
+		report("end-to-end", bestAll, totalAll, iters);
+
+		prg.delete();
+		new File(mms).delete();
+	}
+
+	private static void report(String name, long best, long total, int iters) {
+		System.out.printf("%-12s %10.2f ms (best) %10.2f ms (mean)%n", name, best / 1e6, total / 1e6 / iters);
+	}
+
+	/**
+	 * Compiles the program by {@link Main} with its output suppressed.
+	 *
+	 * @param args The command line arguments.
+	 */
+	static void compile(String[] args) {
+		reset();
+		PrintStream out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		try {
+			Main.main(args);
+		} finally {
+			System.setOut(out);
+		}
+	}
+
+	/**
+	 * Compiles the program phase by phase, the same way as {@link Main} does but
+	 * without logging, and measures each phase.
+	 *
+	 * @param srcFileName The name of the source file.
+	 * @param times       The time spent in each phase in nanoseconds.
+	 */
+	private static void phases(String srcFileName, long[] times) {
+		reset();
+		int phase = 0;
+		long beg;
+
+		beg = System.nanoTime();
+		try (LexAn lexan = new LexAn(srcFileName, false, 1)) {
+			TokenStream tokens = new TokenStream(LexAn.lexemes);
+			while (lexan.lexer(tokens) != Symbol.Term.EOF)
+				;
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (SynAn synan = new SynAn()) {
+			synan.parser();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (Abstr abstr = new Abstr()) {
+			Abstr.absTree = SynAn.derTree.accept(new AbsTreeConstructor(), null);
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (SemAn seman = new SemAn()) {
+			Abstr.absTree.accept(new NameResolver(), null);
+			Abstr.absTree.accept(new TypeResolver(), null);
+			Abstr.absTree.accept(new AddrResolver(), null);
+			SemAn.declaredAt.lock();
+			SemAn.declaresType.lock();
+			SemAn.isType.lock();
+			SemAn.ofType.lock();
+			SemAn.isAddr.lock();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (Frames frames = new Frames()) {
+			Abstr.absTree.accept(new FrmEvaluator(), null);
+			Frames.frames.lock();
+			Frames.accesses.lock();
+			Frames.strings.lock();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (ImcGen imcGen = new ImcGen()) {
+			Abstr.absTree.accept(new CodeGenerator(), new Stack<compiler.data.layout.Frame>());
+			ImcGen.stmtImCode.lock();
+			ImcGen.exprImCode.lock();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (Chunks chunks = new Chunks()) {
+			Abstr.absTree.accept(new ChunkGenerator(), null);
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (AsmGen asmgen = new AsmGen()) {
+			asmgen.genAsmCodes();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (LiveAn livean = new LiveAn()) {
+			livean.chunksLiveness();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		try (RAlloc ralloc = new RAlloc()) {
+			ralloc.tempsToRegs();
+		}
+		times[phase++] = System.nanoTime() - beg;
+
+		beg = System.nanoTime();
+		new EndProd().finishCode();
+		times[phase++] = System.nanoTime() - beg;
+	}
+
+	/**
+	 * Discards the results of all phases so that the program can be compiled
+	 * again.
+	 */
+	static void reset() {
+		SynAn.derTree = null;
+		Abstr.absTree = null;
+		SemAn.declaredAt.clear();
+		SemAn.declaresType.clear();
+		SemAn.isType.clear();
+		SemAn.ofType.clear();
+		SemAn.isAddr.clear();
+		TypeResolver.symbTables.clear();
+		Frames.frames.clear();
+		Frames.accesses.clear();
+		Frames.strings.clear();
+		ImcGen.stmtImCode.clear();
+		ImcGen.exprImCode.clear();
+		Chunks.dataChunks = new Vector<compiler.data.chunk.DataChunk>();
+		Chunks.codeChunks = new Vector<compiler.data.chunk.CodeChunk>();
+		AsmGen.codes = new Vector<compiler.data.asmcode.Code>();
+		AbsTreeIds.reset();
+	}
+
+}
@@ -0,0 +1,486 @@
+package bench;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Synthetic PREV program generator: writes a valid PREV program (i.e., one
+ * passing semantic analysis) of a tunable size and shape. The program consists
+ * of the requested number of functions, each with its own (randomly nested)
+ * record type, locally nested function definitions, loops and conditionals over
+ * random expressions, string constants and an expression keeping many local
+ * variables live at the same time, so that the register allocator must spill.
+ * The program is fully determined by the parameters and the seed.
+ *
+ * Usage: {@code PrevGen [options] [output file]} where the options are
+ * <ul>
+ * <li>{@code --funs=N}: the number of functions (default 100),</li>
+ * <li>{@code --depth=N}: the nesting depth of function definitions within each
+ * function (default 1),</li>
+ * <li>{@code --types=N}: the nesting depth of record and array types (default
+ * 2),</li>
+ * <li>{@code --exprs=N}: the depth of expressions (default 3),</li>
+ * <li>{@code --live=N}: the number of variables of each function live at the
+ * same time (default 4),</li>
+ * <li>{@code --strings=N}: the length of string constants (default 16),</li>
+ * <li>{@code --seed=N}: the seed of the random generator (default 1).</li>
+ * </ul>
+ */
+public class PrevGen {
+
+	/** The number of functions. */
+	int funs = 100;
+
+	/** The nesting depth of function definitions within each function. */
+	int depth = 1;
+
+	/** The nesting depth of record and array types. */
+	int types = 2;
+
+	/** The depth of expressions. */
+	int exprs = 3;
+
+	/** The number of variables of each function live at the same time. */
+	int live = 4;
+
+	/** The length of string constants. */
+	int strings = 16;
+
+	/** The seed of the random generator. */
+	long seed = 1;
+
+	/** The random generator. */
+	private Random random;
+
+	/** The program being written. */
+	private PrintWriter prg;
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		String prgFileName = null;
+		for (String arg : args) {
+			if (!gen.option(arg)) {
+				if (prgFileName == null && !arg.startsWith("--"))
+					prgFileName = arg;
+				else
+					System.err.println("Argument '" + arg + "' ignored.");
+			}
+		}
+		try (Writer out = prgFileName != null ? new BufferedWriter(new FileWriter(prgFileName))
+				: new OutputStreamWriter(System.out)) {
+			gen.generate(out);
+		}
+	}
+
+	/**
+	 * Sets a generator parameter.
+	 *
+	 * @param arg The command line argument of the form {@code --name=value}.
+	 * @return {@code true} if the argument is a generator parameter,
+	 *         {@code false} otherwise.
+	 */
+	boolean option(String arg) {
+		if (!arg.matches("--(funs|depth|types|exprs|live|strings|seed)=[0-9]+"))
+			return false;
+		String name = arg.replaceFirst("^--", "").replaceFirst("=.*$", "");
+		long value = Long.parseLong(arg.replaceFirst("^[^=]*=", ""));
+		switch (name) {
+		case "funs":
+			funs = (int) Math.max(value, 1);
+			break;
+		case "depth":
+			depth = (int) value;
+			break;
+		case "types":
+			types = (int) value;
+			break;
+		case "exprs":
+			exprs = (int) value;
+			break;
+		case "live":
+			live = (int) value;
+			break;
+		case "strings":
+			strings = (int) value;
+			break;
+		case "seed":
+			seed = value;
+			break;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a program to a temporary file.
+	 *
+	 * @return The program file.
+	 */
+	File program() throws IOException {
+		File prgFile = File.createTempFile("prevgen", ".prev");
+		try (Writer out = new BufferedWriter(new FileWriter(prgFile))) {
+			generate(out);
+		}
+		return prgFile;
+	}
+
+	/**
+	 * Writes a program.
+	 *
+	 * @param out The output.
+	 */
+	void generate(Writer out) throws IOException {
+		random = new Random(seed);
+		prg = new PrintWriter(out);
+		prg.printf("# synthetic program: --funs=%d --depth=%d --types=%d --exprs=%d --live=%d --strings=%d --seed=%d%n",
+				funs, depth, types, exprs, live, strings, seed);
+		prg.printf("fun putInt(n : int) : void;%n");
+		prg.printf("fun putChar(c : char) : void;%n");
+		prg.printf("fun putString(s : ptr char) : void;%n");
+		for (int fun = 0; fun < funs; fun++)
+			function(fun);
+		prg.printf("fun main() : int = {%n");
+		prg.printf("\tputString(%s); putInt(f%d(%d, %s)); putChar((10 : char));%n", string(), funs - 1,
+				random.nextInt(100), string());
+		prg.printf("\t: 0%n");
+		prg.printf("};%n");
+		prg.flush();
+		if (prg.checkError())
+			throw new IOException("Cannot write the program.");
+	}
+
+	// TYPES
+
+	/**
+	 * A type of the generated program, i.e., {@code int}, {@code char},
+	 * {@code bool}, an array, a record or a pointer to a named record type.
+	 */
+	private static class Type {
+
+		/** The type as written in the program. */
+		final String text;
+
+		/** The number of elements (arrays only). */
+		final int length;
+
+		/** The element type (arrays only). */
+		final Type elemType;
+
+		/** The component names (records only). */
+		final Vector<String> compNames = new Vector<String>();
+
+		/** The component types (records only). */
+		final Vector<Type> compTypes = new Vector<Type>();
+
+		Type(String text) {
+			this.text = text;
+			this.length = 0;
+			this.elemType = null;
+		}
+
+		Type(int length, Type elemType) {
+			this.text = "arr[" + length + "] " + elemType.text;
+			this.length = length;
+			this.elemType = elemType;
+		}
+
+		Type(Vector<String> compNames, Vector<Type> compTypes) {
+			StringBuilder text = new StringBuilder("rec(");
+			for (int comp = 0; comp < compNames.size(); comp++)
+				text.append(comp == 0 ? "" : ", ").append(compNames.get(comp)).append(" : ")
+						.append(compTypes.get(comp).text);
+			this.text = text.append(")").toString();
+			this.length = 0;
+			this.elemType = null;
+			this.compNames.addAll(compNames);
+			this.compTypes.addAll(compTypes);
+		}
+
+		/** Whether a component of this type is of type {@code int}. */
+		boolean hasInt() {
+			if (text.equals("int"))
+				return true;
+			if (elemType != null)
+				return elemType.hasInt();
+			for (Type compType : compTypes)
+				if (compType.hasInt())
+					return true;
+			return false;
+		}
+
+	}
+
+	private static final Type intType = new Type("int");
+
+	private static final Type charType = new Type("char");
+
+	private static final Type boolType = new Type("bool");
+
+	/**
+	 * Returns a random type containing a component of type {@code int}.
+	 *
+	 * @param typeDepth The nesting depth of the type.
+	 * @param typeName  The name of the record type a pointer can point to.
+	 * @return The type.
+	 */
+	private Type type(int typeDepth, String typeName) {
+		if (typeDepth == 0)
+			return intType;
+		if (random.nextInt(3) == 0)
+			return new Type(2 + random.nextInt(7), type(typeDepth - 1, typeName));
+		Vector<String> compNames = new Vector<String>();
+		Vector<Type> compTypes = new Vector<Type>();
+		int comps = 2 + random.nextInt(3);
+		for (int comp = 0; comp < comps; comp++) {
+			compNames.add("c" + comp);
+			switch (random.nextInt(6)) {
+			case 0:
+				compTypes.add(charType);
+				break;
+			case 1:
+				compTypes.add(boolType);
+				break;
+			case 2:
+				compTypes.add(new Type("ptr " + typeName));
+				break;
+			case 3:
+				compTypes.add(intType);
+				break;
+			default:
+				compTypes.add(type(typeDepth - 1, typeName));
+				break;
+			}
+		}
+		Type type = new Type(compNames, compTypes);
+		if (!type.hasInt()) {
+			compNames.add("c" + comps);
+			compTypes.add(intType);
+			type = new Type(compNames, compTypes);
+		}
+		return type;
+	}
+
+	/**
+	 * Returns a random access to a scalar component of a variable.
+	 *
+	 * @param var   The variable.
+	 * @param type  The type of the variable.
+	 * @param index The expression used as an array index.
+	 * @param onlyInt Whether the component must be of type {@code int}.
+	 * @param path  The access (output).
+	 * @return The type of the component.
+	 */
+	private Type access(String var, Type type, String index, boolean onlyInt, StringBuilder path) {
+		path.append(var);
+		while (true) {
+			if (type.elemType != null) {
+				path.append("[").append(index).append(" % ").append(type.length).append("]");
+				type = type.elemType;
+				continue;
+			}
+			if (type.compTypes.isEmpty())
+				return type;
+			Vector<Integer> comps = new Vector<Integer>();
+			for (int comp = 0; comp < type.compTypes.size(); comp++) {
+				Type compType = type.compTypes.get(comp);
+				if (compType.text.startsWith("ptr "))
+					continue;
+				if (onlyInt ? compType.hasInt() : true)
+					comps.add(comp);
+			}
+			int comp = comps.get(random.nextInt(comps.size()));
+			path.append(".").append(type.compNames.get(comp));
+			type = type.compTypes.get(comp);
+		}
+	}
+
+	// EXPRESSIONS
+
+	/**
+	 * Returns a random integer expression.
+	 *
+	 * @param exprDepth The depth of the expression.
+	 * @param leaves    The integer expressions the expression is composed of.
+	 * @return The expression.
+	 */
+	private String intExpr(int exprDepth, Vector<String> leaves) {
+		if (exprDepth <= 0 || random.nextInt(4) == 0) {
+			if (random.nextInt(4) == 0)
+				return Integer.toString(random.nextInt(1000));
+			return leaves.get(random.nextInt(leaves.size()));
+		}
+		switch (random.nextInt(7)) {
+		case 0:
+			return "-" + intExpr(exprDepth - 1, leaves);
+		case 1:
+			return "(" + intExpr(exprDepth - 1, leaves) + " / " + (1 + random.nextInt(9)) + ")";
+		case 2:
+			return "(" + intExpr(exprDepth - 1, leaves) + " % " + (1 + random.nextInt(9)) + ")";
+		case 3:
+			return "(" + intExpr(exprDepth - 1, leaves) + " * " + intExpr(exprDepth - 1, leaves) + ")";
+		case 4:
+			return "(" + intExpr(exprDepth - 1, leaves) + " - " + intExpr(exprDepth - 1, leaves) + ")";
+		default:
+			return "(" + intExpr(exprDepth - 1, leaves) + " + " + intExpr(exprDepth - 1, leaves) + ")";
+		}
+	}
+
+	/**
+	 * Returns a random boolean expression.
+	 *
+	 * @param exprDepth The depth of the expression.
+	 * @param leaves    The integer expressions the expression is composed of.
+	 * @return The expression.
+	 */
+	private String boolExpr(int exprDepth, Vector<String> leaves) {
+		final String[] compOpers = { "==", "!=", "<", "<=", ">", ">=" };
+		if (exprDepth <= 1 || random.nextInt(3) == 0)
+			return "(" + intExpr(exprDepth - 1, leaves) + " " + compOpers[random.nextInt(compOpers.length)] + " "
+					+ intExpr(exprDepth - 1, leaves) + ")";
+		switch (random.nextInt(4)) {
+		case 0:
+			return "!" + boolExpr(exprDepth - 1, leaves);
+		case 1:
+			return "(" + boolExpr(exprDepth - 1, leaves) + " & " + boolExpr(exprDepth - 1, leaves) + ")";
+		case 2:
+			return "(" + boolExpr(exprDepth - 1, leaves) + " ^ " + boolExpr(exprDepth - 1, leaves) + ")";
+		default:
+			return "(" + boolExpr(exprDepth - 1, leaves) + " | " + boolExpr(exprDepth - 1, leaves) + ")";
+		}
+	}
+
+	/**
+	 * Returns a random string constant.
+	 *
+	 * @return The string constant.
+	 */
+	private String string() {
+		final String chars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .,:;-+*/=()";
+		StringBuilder string = new StringBuilder("\"");
+		for (int c = 0; c < strings; c++)
+			string.append(chars.charAt(random.nextInt(chars.length())));
+		return string.append("\"").toString();
+	}
+
+	// FUNCTIONS
+
+	/**
+	 * Writes a function together with its record type.
+	 *
+	 * @param fun The index of the function.
+	 */
+	private void function(int fun) {
+		String typeName = "T" + fun;
+		Type compType = type(types, typeName);
+		Vector<String> compNames = new Vector<String>(compType.compNames);
+		Vector<Type> compTypes = new Vector<Type>(compType.compTypes);
+		if (compType.compTypes.isEmpty()) {
+			compNames.add("c0");
+			compTypes.add(compType);
+		}
+		compNames.add("next");
+		compTypes.add(new Type("ptr " + typeName));
+		Type type = new Type(compNames, compTypes);
+		prg.printf("typ %s : %s;%n", typeName, type.text);
+		prg.printf("var g%d : %s;%n", fun, typeName);
+
+		Vector<String> leaves = new Vector<String>();
+		leaves.add("n");
+		leaves.add("acc");
+		leaves.add("i");
+
+		prg.printf("fun f%d(n : int, s : ptr char) : int = {%n", fun);
+		prg.printf("\ti = 0; acc = n; r.next = $g%d;%n", fun);
+
+		// A loop initializing the record.
+		prg.printf("\twhile i < %d do%n", 2 + random.nextInt(8));
+		for (int stmt = 0; stmt < 3; stmt++)
+			prg.printf("\t\t%s;%n", assignment("r", type, leaves));
+		prg.printf("\t\ti = i + 1;%n");
+		prg.printf("\tend;%n");
+
+		// Conditionals and calls of the previous functions.
+		StringBuilder path = new StringBuilder();
+		access("r", type, "i", true, path);
+		leaves.add(path.toString());
+		path.setLength(0);
+		access("(@r.next)", type, "acc", true, path);
+		leaves.add(path.toString());
+		prg.printf("\tif %s then%n", boolExpr(exprs, leaves));
+		prg.printf("\t\tacc = %s;%n", intExpr(exprs, leaves));
+		if (fun > 0)
+			prg.printf("\t\tacc = acc + f%d(%s, %s);%n", random.nextInt(fun), intExpr(exprs, leaves), string());
+		prg.printf("\telse%n");
+		prg.printf("\t\tacc = %s;%n", intExpr(exprs, leaves));
+		prg.printf("\t\tputString(s); putString(%s);%n", string());
+		prg.printf("\tend;%n");
+
+		// Many variables live at the same time.
+		for (int var = 0; var < live; var++) {
+			prg.printf("\tv%d = %s;%n", var, intExpr(exprs, leaves));
+			leaves.add("v" + var);
+		}
+		if (live > 0) {
+			StringBuilder sum = new StringBuilder();
+			for (int var = 0; var < live; var++)
+				sum.append(var == 0 ? "" : (var % 2 == 0 ? " + (" : " * (")).append("v").append(var);
+			for (int var = 1; var < live; var++)
+				sum.append(")");
+			prg.printf("\tacc = acc + %s;%n", sum);
+		}
+
+		// Calls of nested functions.
+		prg.printf("\t: acc%s%n", depth > 0 ? " + h" + fun + "_1(acc)" : "");
+		prg.printf("\twhere var i : int; var acc : int; var r : %s;", typeName);
+		for (int var = 0; var < live; var++)
+			prg.printf(" var v%d : int;", var);
+		prg.printf("%n");
+		if (depth > 0)
+			nested(fun, 1, "\t\t");
+		prg.printf("};%n");
+	}
+
+	/**
+	 * Writes a nested function (and the functions nested within it).
+	 *
+	 * @param fun    The index of the outermost function.
+	 * @param level  The nesting level of the function.
+	 * @param indent The indentation.
+	 */
+	private void nested(int fun, int level, String indent) {
+		Vector<String> leaves = new Vector<String>();
+		leaves.add("n");
+		leaves.add("x" + level);
+		leaves.add("y" + level);
+		for (int outer = 1; outer < level; outer++)
+			leaves.add("x" + outer);
+		String name = "h" + fun + "_" + level;
+		prg.printf("%sfun %s(x%d : int) : int = {%n", indent, name, level);
+		prg.printf("%s\ty%d = %s;%n", indent, level, intExpr(exprs, leaves));
+		prg.printf("%s\twhile %s do y%d = y%d - 1; end;%n", indent, boolExpr(exprs, leaves), level, level);
+		prg.printf("%s\t: y%d%s%n", indent, level, level < depth ? " + h" + fun + "_" + (level + 1) + "(y" + level + ")" : "");
+		prg.printf("%s\twhere var y%d : int;%n", indent, level);
+		if (level < depth)
+			nested(fun, level + 1, indent + "\t");
+		prg.printf("%s};%n", indent);
+	}
+
+	/**
+	 * Returns an assignment to a random scalar component of a variable.
+	 *
+	 * @param var    The variable.
+	 * @param type   The type of the variable.
+	 * @param leaves The integer expressions the assigned expression is composed
+	 *               of.
+	 * @return The assignment.
+	 */
+	private String assignment(String var, Type type, Vector<String> leaves) {
+		StringBuilder path = new StringBuilder();
+		Type compType = access(var, type, "i", false, path);
+		if (compType == charType)
+			return path + " = '" + (char) ('a' + random.nextInt(26)) + "'";
+		if (compType == boolType)
+			return path + " = " + boolExpr(exprs, leaves);
+		return path + " = " + intExpr(exprs, leaves);
+	}
+
+}
@@ -0,0 +1,118 @@
+package bench;
+
+import java.io.*;
+
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import compiler.phases.seman.*;
+
+/**
+ * Semantic analysis benchmark: performs semantic analysis of a synthetic
+ * program produced by {@link PrevGen} again and again, once with the types and
+ * addresses of top-level declarations resolved sequentially and once in
+ * parallel (as with {@code --seman-threads}), and reports the time spent in
+ * each of the passes.
+ *
+ * Usage: {@code SemAnBench [number of functions] [iterations] [threads] [PrevGen options]}
+ */
+public class SemAnBench {
+
+	/** The names of the measured passes. */
+	private static final String[] passes = { "names", "types", "addrs" };
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 200;
+		int iters = 10;
+		int threads = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			switch (argc++) {
+			case 0:
+				gen.funs = Integer.parseInt(arg);
+				break;
+			case 1:
+				iters = Integer.parseInt(arg);
+				break;
+			default:
+				threads = Integer.parseInt(arg);
+			}
+		}
+
+		File prg = gen.program();
+		System.out.printf("program: %s (%d functions, %d bytes), %d processors%n", prg, gen.funs, prg.length(),
+				Runtime.getRuntime().availableProcessors());
+
+		// The first compilation sets up the command line used by the parser.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=abstr" });
+
+		measure(1, iters);
+		measure(threads, iters);
+
+		prg.delete();
+	}
+
+	/**
+	 * Performs semantic analysis a few times to warm up and then measures its
+	 * time.
+	 *
+	 * @param threads The number of threads resolving top-level declarations.
+	 * @param iters   The number of measured iterations.
+	 */
+	private static void measure(int threads, int iters) {
+		long[] best = new long[passes.length + 1];
+		long[] total = new long[passes.length + 1];
+		java.util.Arrays.fill(best, Long.MAX_VALUE);
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			passes(threads, new long[passes.length + 1]);
+		for (int iter = 0; iter < iters; iter++) {
+			long[] times = new long[passes.length + 1];
+			passes(threads, times);
+			for (int pass = 0; pass <= passes.length; pass++) {
+				best[pass] = Math.min(best[pass], times[pass]);
+				total[pass] += times[pass];
+			}
+		}
+		System.out.printf("%d thread(s):%n", threads);
+		for (int pass = 0; pass <= passes.length; pass++)
+			System.out.printf("  %-10s %10.2f ms (best) %10.2f ms (mean)%n",
+					pass < passes.length ? passes[pass] : "total", best[pass] / 1e6, total[pass] / 1e6 / iters);
+	}
+
+	/**
+	 * Parses the program and then performs semantic analysis the same way as
+	 * {@link compiler.Main} does but without logging, and measures each pass.
+	 *
+	 * @param threads The number of threads resolving top-level declarations.
+	 * @param times   The time spent in each pass and in all of them in
+	 *                nanoseconds.
+	 */
+	private static void passes(int threads, long[] times) {
+		PhaseBench.reset();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+
+		try (SemAn seman = new SemAn(threads)) {
+			long beg = System.nanoTime();
+			Abstr.absTree.accept(new NameResolver(), null);
+			long names = System.nanoTime();
+			Abstr.absTree.accept(new TypeResolver(threads), null);
+			long types = System.nanoTime();
+			Abstr.absTree.accept(new AddrResolver(threads), null);
+			long end = System.nanoTime();
+			SemAn.declaredAt.lock();
+			SemAn.declaresType.lock();
+			SemAn.isType.lock();
+			SemAn.ofType.lock();
+			SemAn.isAddr.lock();
+			times[0] = names - beg;
+			times[1] = types - names;
+			times[2] = end - types;
+			times[3] = end - beg;
+		}
+	}
+
+}
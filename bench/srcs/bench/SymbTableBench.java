@@ -0,0 +1,273 @@
+package bench;
+
+import java.io.*;
+import java.util.*;
+
+import compiler.data.abstree.*;
+import compiler.data.abstree.visitor.*;
+import compiler.data.symbol.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import compiler.phases.seman.*;
+
+/**
+ * Symbol table benchmark: parses a synthetic program produced by
+ * {@link PrevGen} (by default with deeply nested function definitions), records
+ * the operations name resolution performs on a symbol table (entering and
+ * leaving scopes, declaring and looking up names) and replays them on a
+ * {@link SymbTable} and on a {@link PersistentSymbTable} (with names given as
+ * strings and as interned ids).
+ *
+ * Usage: {@code SymbTableBench [number of functions] [iterations] [PrevGen options]}
+ */
+public class SymbTableBench {
+
+	/** The operation entering a scope. */
+	private static final int NEW = -1;
+
+	/** The operation leaving a scope. */
+	private static final int OLD = -2;
+
+	/** The operation declaring a name (followed by the index of the declaration). */
+	private static final int INS = -3;
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 100;
+		gen.depth = 8;
+		gen.live = 16;
+		int iters = 10;
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			if (argc++ == 0)
+				gen.funs = Integer.parseInt(arg);
+			else
+				iters = Integer.parseInt(arg);
+		}
+
+		File prg = gen.program();
+		System.out.printf("program: %s (%d functions, depth %d, %d bytes)%n", prg, gen.funs, gen.depth,
+				prg.length());
+
+		// The first compilation sets up the command line used by the parser.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=abstr" });
+		PhaseBench.reset();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+
+		// The operations: scopes, declarations and lookups (the ids of names).
+		Tracer tracer = new Tracer();
+		Abstr.absTree.accept(tracer, null);
+		int[] ops = tracer.ops.stream().mapToInt(Integer::intValue).toArray();
+		AbsDecl[] decls = tracer.decls.toArray(new AbsDecl[0]);
+		LexemePool pool = tracer.names;
+		String[] names = new String[pool.size()];
+		for (int id = 0; id < names.length; id++)
+			names[id] = pool.lexeme(id);
+		System.out.printf("operations: %d scopes, %d declarations, %d lookups (max depth %d)%n", tracer.numOfScopes,
+				decls.length, ops.length - 2 * tracer.numOfScopes - 2 * decls.length, tracer.maxDepth);
+
+		measure("SymbTable", iters, () -> {
+			SymbTable table = new SymbTable();
+			long found = 0;
+			for (int op = 0; op < ops.length; op++) {
+				try {
+					switch (ops[op]) {
+					case NEW:
+						table.newScope();
+						break;
+					case OLD:
+						table.oldScope();
+						break;
+					case INS:
+						AbsDecl decl = decls[ops[++op]];
+						table.ins(decl.name, decl);
+						break;
+					default:
+						found += table.fnd(names[ops[op]]) != null ? 1 : 0;
+					}
+				} catch (SymbTable.CannotInsNameException | SymbTable.CannotFndNameException __) {
+				}
+			}
+			return found;
+		});
+		measure("Persistent", iters, () -> {
+			PersistentSymbTable table = new PersistentSymbTable(pool);
+			long found = 0;
+			for (int op = 0; op < ops.length; op++) {
+				try {
+					switch (ops[op]) {
+					case NEW:
+						table.newScope();
+						break;
+					case OLD:
+						table.oldScope();
+						break;
+					case INS:
+						AbsDecl decl = decls[ops[++op]];
+						table.ins(decl.name, decl);
+						break;
+					default:
+						found += table.fnd(names[ops[op]]) != null ? 1 : 0;
+					}
+				} catch (PersistentSymbTable.CannotInsNameException | PersistentSymbTable.CannotFndNameException __) {
+				}
+			}
+			return found;
+		});
+		int[] declIds = new int[decls.length];
+		for (int decl = 0; decl < decls.length; decl++)
+			declIds[decl] = pool.intern(decls[decl].name);
+		measure("Persistent id", iters, () -> {
+			PersistentSymbTable table = new PersistentSymbTable(pool);
+			long found = 0;
+			for (int op = 0; op < ops.length; op++) {
+				try {
+					switch (ops[op]) {
+					case NEW:
+						table.newScope();
+						break;
+					case OLD:
+						table.oldScope();
+						break;
+					case INS:
+						op++;
+						table.ins(declIds[ops[op]], decls[ops[op]]);
+						break;
+					default:
+						found += table.fnd(ops[op]) != null ? 1 : 0;
+					}
+				} catch (PersistentSymbTable.CannotInsNameException | PersistentSymbTable.CannotFndNameException __) {
+				}
+			}
+			return found;
+		});
+
+		prg.delete();
+	}
+
+	/**
+	 * Runs the operations a few times to warm up and then measures their time.
+	 *
+	 * @param name  The name of the symbol table.
+	 * @param iters The number of measured iterations.
+	 * @param run   The operations returning the number of names found.
+	 */
+	private static void measure(String name, int iters, java.util.function.LongSupplier run) {
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			run.getAsLong();
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		long found = 0;
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			found = run.getAsLong();
+			long time = System.nanoTime() - beg;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-14s %10.2f ms (best) %10.2f ms (mean) %d names found%n", name, best / 1e6,
+				total / 1e6 / iters, found);
+	}
+
+	/**
+	 * Records the operations on a symbol table in the order name resolution
+	 * performs them (simplified: all names of a scope are declared first and then
+	 * looked up).
+	 */
+	private static class Tracer extends AbsFullVisitor<Object, Object> {
+
+		/** The names looked up and declared (interned in the order they are met). */
+		final LexemePool names = new LexemePool();
+
+		/** The operations. */
+		final Vector<Integer> ops = new Vector<Integer>();
+
+		/** The declarations. */
+		final Vector<AbsDecl> decls = new Vector<AbsDecl>();
+
+		/** The number of scopes. */
+		int numOfScopes = 0;
+
+		/** The depth of the current scope. */
+		int depth = 0;
+
+		/** The maximal depth of a scope. */
+		int maxDepth = 0;
+
+		private void newScope() {
+			ops.add(NEW);
+			numOfScopes++;
+			maxDepth = Math.max(maxDepth, ++depth);
+		}
+
+		private void oldScope() {
+			ops.add(OLD);
+			depth--;
+		}
+
+		private void ins(AbsDecl decl) {
+			ops.add(INS);
+			ops.add(decls.size());
+			decls.add(decl);
+		}
+
+		private void fnd(String name) {
+			ops.add(names.intern(name));
+		}
+
+		@Override
+		public Object visit(AbsDecls decls, Object visArg) {
+			for (int index = 0; index < decls.numDecls(); index++)
+				ins(decls.decl(index));
+			return super.visit(decls, visArg);
+		}
+
+		@Override
+		public Object visit(AbsFunDef funDef, Object visArg) {
+			newScope();
+			for (int index = 0; index < funDef.parDecls.numParDecls(); index++)
+				ins(funDef.parDecls.parDecl(index));
+			super.visit(funDef, visArg);
+			oldScope();
+			return null;
+		}
+
+		@Override
+		public Object visit(AbsBlockExpr blockExpr, Object visArg) {
+			newScope();
+			super.visit(blockExpr, visArg);
+			oldScope();
+			return null;
+		}
+
+		@Override
+		public Object visit(AbsTypName typName, Object visArg) {
+			fnd(typName.name);
+			return null;
+		}
+
+		@Override
+		public Object visit(AbsVarName varName, Object visArg) {
+			fnd(varName.name);
+			return null;
+		}
+
+		@Override
+		public Object visit(AbsRecExpr recExpr, Object visArg) {
+			recExpr.record.accept(this, visArg);
+			return null;
+		}
+
+		@Override
+		public Object visit(AbsFunName funName, Object visArg) {
+			fnd(funName.name);
+			return super.visit(funName, visArg);
+		}
+
+	}
+
+}
@@ -0,0 +1,131 @@
+package bench;
+
+import java.io.*;
+import java.lang.management.*;
+
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+
+/**
+ * Parser throughput benchmark: parses a synthetic program produced by
+ * {@link PrevGen} (lexing included) into the derivation tree, into the
+ * derivation tree and then the abstract syntax tree, and directly into the
+ * abstract syntax tree (sequentially and with top-level declarations parsed in
+ * parallel), and reports the throughput in MB/s and the number of bytes
+ * allocated per parse (by the main thread).
+ *
+ * Usage: {@code SynAnBench [number of functions] [iterations] [PrevGen options]}
+ */
+public class SynAnBench {
+
+	public static void main(String[] args) throws IOException {
+		PrevGen gen = new PrevGen();
+		gen.funs = 1000;
+		int iters = 10;
+		int argc = 0;
+		for (String arg : args) {
+			if (gen.option(arg))
+				continue;
+			if (argc++ == 0)
+				gen.funs = Integer.parseInt(arg);
+			else
+				iters = Integer.parseInt(arg);
+		}
+
+		File prg = gen.program();
+		double mbytes = prg.length() / (1024.0 * 1024.0);
+		System.out.printf("program: %s (%d functions, %.2f MB)%n", prg, gen.funs, mbytes);
+
+		// The first compilation sets up the command line used by the parser.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=synan" });
+
+		measure("SynAn", mbytes, iters, () -> {
+			try (SynAn synan = new SynAn()) {
+				synan.parser();
+			}
+		});
+		measure("SynAn+Abstr", mbytes, iters, () -> {
+			try (SynAn synan = new SynAn()) {
+				synan.parser();
+			}
+			Abstr.absTree = SynAn.derTree.accept(new AbsTreeConstructor(), null);
+		});
+		measure("SynAn direct", mbytes, iters, () -> {
+			try (SynAn synan = new SynAn()) {
+				Abstr.absTree = synan.absParser();
+			}
+		});
+		int threads = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+		measure("SynAn par(" + threads + ")", mbytes, iters, () -> {
+			try (SynAn synan = new SynAn()) {
+				Abstr.absTree = synan.absParser(1, threads);
+			}
+		});
+
+		// The heap footprint of the derivation tree.
+		PhaseBench.reset();
+		long begHeap = usedHeap();
+		try (SynAn synan = new SynAn()) {
+			synan.parser();
+		}
+		System.out.printf("%-12s %9.2f MB retained by the derivation tree%n", "SynAn", (usedHeap() - begHeap) / (1024.0 * 1024.0));
+
+		prg.delete();
+	}
+
+	/**
+	 * Returns the heap usage after a garbage collection.
+	 *
+	 * @return The number of bytes used.
+	 */
+	static long usedHeap() {
+		for (int gc = 0; gc < 3; gc++)
+			System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Runs a parser a few times to warm it up and then measures the throughput and
+	 * the allocation.
+	 *
+	 * @param name   The name of the parser.
+	 * @param mbytes The size of the program in MB.
+	 * @param iters  The number of measured iterations.
+	 * @param parse  The parser run.
+	 */
+	static void measure(String name, double mbytes, int iters, Runnable parse) {
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++) {
+			PhaseBench.reset();
+			parse.run();
+		}
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		long alloc = Long.MAX_VALUE;
+		for (int iter = 0; iter < iters; iter++) {
+			PhaseBench.reset();
+			long begAlloc = allocBytes();
+			long beg = System.nanoTime();
+			parse.run();
+			long time = System.nanoTime() - beg;
+			alloc = Math.min(alloc, allocBytes() - begAlloc);
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-12s %9.2f MB/s (best) %9.2f MB/s (mean) %9.2f MB allocated%n", name,
+				mbytes / (best / 1e9), mbytes / (total / 1e9 / iters), alloc / (1024.0 * 1024.0));
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far.
+	 *
+	 * @return The number of bytes allocated (or 0 if not supported).
+	 */
+	static long allocBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		return 0;
+	}
+
+}
@@ -0,0 +1,147 @@
+package bench;
+
+import java.io.*;
+import java.util.*;
+
+import compiler.data.abstree.*;
+import compiler.data.type.*;
+import compiler.phases.synan.*;
+import compiler.phases.abstr.*;
+import compiler.phases.seman.*;
+import compiler.phases.frames.*;
+
+/**
+ * Type synonym benchmark: compiles a program consisting of long chains of type
+ * synonyms, each ending in a record type, and a function accessing variables of
+ * these types, from semantic analysis up to frame evaluation again and again
+ * and reports the time spent in each of these phases (both of which ask type
+ * synonyms for their actual types and sizes all the time). Finally checks that
+ * the actual type, the size and the infiniteness of every type synonym are the
+ * same as when the chain of synonyms is followed.
+ *
+ * Usage: {@code TypeChainBench [number of chains] [length of chains] [number of statements] [iterations]}
+ */
+public class TypeChainBench {
+
+	/** The names of the measured phases. */
+	private static final String[] phases = { "seman", "frames" };
+
+	public static void main(String[] args) throws IOException {
+		int chains = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int length = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int stmts = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		int iters = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+		File prg = File.createTempFile("typechain", ".prev");
+		try (Writer out = new BufferedWriter(new FileWriter(prg))) {
+			for (int chain = 0; chain < chains; chain++) {
+				for (int link = 0; link < length - 1; link++)
+					out.write("typ c" + chain + "t" + link + " : c" + chain + "t" + (link + 1) + ";\n");
+				out.write("typ c" + chain + "t" + (length - 1) + " : rec(a : int, b : ptr c" + chain
+						+ "t0, c : arr[4] int);\n");
+				out.write("var v" + chain + " : c" + chain + "t0;\n");
+				out.write("var w" + chain + " : arr[2] c" + chain + "t0;\n");
+				out.write("var p" + chain + " : ptr c" + chain + "t0;\n");
+			}
+			out.write("fun main() : int = {\n");
+			for (int stmt = 0; stmt < stmts; stmt++)
+				for (int chain = 0; chain < chains; chain++) {
+					out.write("\tv" + chain + ".a = v" + chain + ".a + w" + chain + "[1].a;");
+					out.write(" p" + chain + " = (@p" + chain + ").b;");
+					out.write(" v" + chain + ".c[0] = v" + chain + ".a;\n");
+				}
+			out.write("\t: 0\n};\n");
+		}
+		System.out.printf("program: %s (%d chains of %d type synonyms, %d statements, %d bytes)%n", prg, chains,
+				length, 3 * chains * stmts, prg.length());
+
+		// The first compilation sets up the command line used by all phases.
+		PhaseBench.compile(new String[] { prg.getPath(), "--target-phase=abstr" });
+
+		long[] best = new long[phases.length + 1];
+		long[] total = new long[phases.length + 1];
+		Arrays.fill(best, Long.MAX_VALUE);
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			phases(new long[phases.length + 1]);
+		for (int iter = 0; iter < iters; iter++) {
+			long[] times = new long[phases.length + 1];
+			phases(times);
+			for (int phase = 0; phase <= phases.length; phase++) {
+				best[phase] = Math.min(best[phase], times[phase]);
+				total[phase] += times[phase];
+			}
+		}
+		for (int phase = 0; phase <= phases.length; phase++)
+			System.out.printf("%-12s %10.2f ms (best) %10.2f ms (mean)%n",
+					phase < phases.length ? phases[phase] : "total", best[phase] / 1e6, total[phase] / 1e6 / iters);
+
+		boolean ok = check((AbsSource) Abstr.absTree);
+		System.out.printf("type synonyms: %s%n", ok ? "ok" : "MISMATCH");
+
+		prg.delete();
+		if (!ok)
+			System.exit(1);
+	}
+
+	/**
+	 * Parses the program and then performs semantic analysis and computes frames
+	 * the same way as {@link compiler.Main} does but without logging, and measures
+	 * both phases.
+	 *
+	 * @param times The time spent in each phase and in both of them in
+	 *              nanoseconds.
+	 */
+	private static void phases(long[] times) {
+		PhaseBench.reset();
+		try (SynAn synan = new SynAn()) {
+			Abstr.absTree = synan.absParser();
+		}
+
+		long beg = System.nanoTime();
+		try (SemAn seman = new SemAn()) {
+			Abstr.absTree.accept(new NameResolver(), null);
+			Abstr.absTree.accept(new TypeResolver(), null);
+			Abstr.absTree.accept(new AddrResolver(), null);
+			SemAn.declaredAt.lock();
+			SemAn.declaresType.lock();
+			SemAn.isType.lock();
+			SemAn.ofType.lock();
+			SemAn.isAddr.lock();
+		}
+		long mid = System.nanoTime();
+		try (Frames frames = new Frames()) {
+			Abstr.absTree.accept(new FrmEvaluator(), null);
+			Frames.frames.lock();
+			Frames.accesses.lock();
+			Frames.strings.lock();
+		}
+		long end = System.nanoTime();
+		times[0] = mid - beg;
+		times[1] = end - mid;
+		times[2] = end - beg;
+	}
+
+	/**
+	 * Checks that the actual type, the size and the infiniteness of every type
+	 * synonym are the same as when the chain of synonyms is followed.
+	 *
+	 * @param source The abstract syntax tree.
+	 * @return Whether all type synonyms are as expected.
+	 */
+	private static boolean check(AbsSource source) {
+		boolean ok = true;
+		for (AbsDecl decl : source.decls.decls()) {
+			if (!(decl instanceof AbsTypDecl))
+				continue;
+			SemNamedType namedType = SemAn.declaresType.get((AbsTypDecl) decl);
+			SemType actualType = namedType;
+			while (actualType instanceof SemNamedType)
+				actualType = ((SemNamedType) actualType).type;
+			ok &= namedType.actualType() == actualType;
+			ok &= namedType.size() == actualType.size();
+			ok &= !namedType.isInfinite();
+		}
+		return ok;
+	}
+
+}
@@ -0,0 +1,125 @@
+package bench;
+
+import java.util.*;
+
+import compiler.data.type.*;
+
+/**
+ * Type matching benchmark: builds two structurally equal but distinct families
+ * of mutually recursive record types (each record points to the next one and
+ * contains an array of records pointing back to it), declares a number of
+ * variables of pointer types pointing to distinct synonyms of the first record
+ * of either family and matches randomly chosen pairs of them, as type checking
+ * does for assignments, comparisons and calls. The queries are answered once
+ * with the results of previous queries forgotten before each query (the way
+ * types used to be matched) and once with the results looked up.
+ *
+ * Usage: {@code TypeMatchBench [number of records] [number of queries] [iterations]}
+ */
+public class TypeMatchBench {
+
+	/** The number of variables of each family. */
+	private static final int VARS = 20;
+
+	public static void main(String[] args) {
+		int recs = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+		int iters = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		SemNamedType fstFamily = family("a", recs);
+		SemNamedType sndFamily = family("b", recs);
+		SemType[] fstVars = new SemType[VARS];
+		SemType[] sndVars = new SemType[VARS];
+		for (int var = 0; var < VARS; var++) {
+			fstVars[var] = SemPtrType.get(synonym(fstFamily, var));
+			sndVars[var] = SemPtrType.get(synonym(sndFamily, var));
+		}
+		Random random = new Random(1);
+		SemType[] dsts = new SemType[queries];
+		SemType[] srcs = new SemType[queries];
+		for (int query = 0; query < queries; query++) {
+			dsts[query] = (random.nextBoolean() ? fstVars : sndVars)[random.nextInt(VARS)];
+			srcs[query] = (random.nextBoolean() ? fstVars : sndVars)[random.nextInt(VARS)];
+		}
+		System.out.printf("types: 2 x %d records, %d queries%n", recs, queries);
+
+		measure("forgotten", iters, () -> {
+			long matched = 0;
+			for (int query = 0; query < queries; query++) {
+				SemType.clearMatchings();
+				matched += dsts[query].matches(srcs[query]) ? 1 : 0;
+			}
+			return matched;
+		});
+		measure("looked up", iters, () -> {
+			SemType.clearMatchings();
+			long matched = 0;
+			for (int query = 0; query < queries; query++)
+				matched += dsts[query].matches(srcs[query]) ? 1 : 0;
+			return matched;
+		});
+	}
+
+	/**
+	 * Builds a family of mutually recursive record types.
+	 *
+	 * @param prefix The prefix of the names of the types.
+	 * @param recs   The number of record types.
+	 * @return The first record type of the family.
+	 */
+	private static SemNamedType family(String prefix, int recs) {
+		SemNamedType[] types = new SemNamedType[recs];
+		for (int rec = 0; rec < recs; rec++)
+			types[rec] = new SemNamedType(prefix + rec);
+		for (int rec = 0; rec < recs; rec++) {
+			Vector<SemType> elemCompTypes = new Vector<SemType>();
+			elemCompTypes.add(SemIntType.INT);
+			elemCompTypes.add(SemCharType.CHAR);
+			elemCompTypes.add(SemPtrType.get(types[rec]));
+			Vector<SemType> compTypes = new Vector<SemType>();
+			compTypes.add(SemPtrType.get(types[(rec + 1) % recs]));
+			compTypes.add(SemIntType.INT);
+			compTypes.add(SemArrType.get(8, new SemRecType(elemCompTypes)));
+			types[rec].define(new SemRecType(compTypes));
+		}
+		return types[0];
+	}
+
+	/**
+	 * Builds a synonym of a type.
+	 *
+	 * @param type  The type.
+	 * @param index The index of the synonym.
+	 * @return The synonym.
+	 */
+	private static SemNamedType synonym(SemNamedType type, int index) {
+		SemNamedType synonym = new SemNamedType(type.name + "v" + index);
+		synonym.define(type);
+		return synonym;
+	}
+
+	/**
+	 * Runs the queries a few times to warm up and then measures their time.
+	 *
+	 * @param name  The name of the measurement.
+	 * @param iters The number of measured iterations.
+	 * @param run   The queries returning the number of matching pairs of types.
+	 */
+	private static void measure(String name, int iters, java.util.function.LongSupplier run) {
+		for (int iter = 0; iter < Math.max(iters / 2, 1); iter++)
+			run.getAsLong();
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		long matched = 0;
+		for (int iter = 0; iter < iters; iter++) {
+			long beg = System.nanoTime();
+			matched = run.getAsLong();
+			long time = System.nanoTime() - beg;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-10s %10.2f ms (best) %10.2f ms (mean) %d matching%n", name, best / 1e6,
+				total / 1e6 / iters, matched);
+	}
+
+}
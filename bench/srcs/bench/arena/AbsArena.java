@@ -0,0 +1,365 @@
+package bench.arena;
+
+import java.util.*;
+
+import compiler.common.report.*;
+import compiler.data.abstree.*;
+import compiler.data.symbol.*;
+
+/**
+ * An abstract syntax tree stored in an arena.
+ *
+ * Nodes are {@code int} ids and all their data are kept in arrays indexed by
+ * ids (a struct of arrays): the kind of a node, its first child and its next
+ * sibling (or -1 if there is none), its location (packed as four consecutive
+ * {@code int}s), the ordinal of its operator or type (if any) and the id of its
+ * name or constant within the arena's own pool of lexemes (or -1 if there is
+ * none). The children of a node are its subtrees in the order of the fields of
+ * the corresponding class in {@link compiler.data.abstree}; the elements of a
+ * list are the children of the node of the list. A node is always added before
+ * its children, i.e., nodes are in preorder.
+ *
+ * Existing visitors are run over the arena by {@link #tree(int)} that
+ * constructs (and caches) the usual abstract syntax tree nodes. Kept next to
+ * {@link bench.AbsArenaBench} until the parser stores the tree in an arena
+ * directly and phases traverse it by ids.
+ */
+public class AbsArena {
+
+	/** Kinds of nodes (one per concrete class of abstract syntax tree nodes). */
+	public enum Kind {
+		Source, Decls, TypDecl, VarDecl, ParDecl, CompDecl, FunDecl, FunDef, ParDecls, CompDecls, AtomType, ArrType,
+		PtrType, RecType, TypName, Args, ArrExpr, AtomExpr, BinExpr, BlockExpr, CastExpr, DelExpr, FunName, NewExpr,
+		RecExpr, UnExpr, VarName, Stmts, AssignStmt, ExprStmt, IfStmt, WhileStmt,
+	}
+
+	/** All kinds of nodes (indexed by ordinals). */
+	private static final Kind[] kindValues = Kind.values();
+
+	/** The kinds of nodes (ordinals). */
+	private byte[] kinds = new byte[1024];
+
+	/** The first children of nodes. */
+	private int[] firstChilds = new int[1024];
+
+	/** The next siblings of nodes. */
+	private int[] nextSiblings = new int[1024];
+
+	/** The last children of nodes (needed only while the arena is being built). */
+	private int[] lastChilds = new int[1024];
+
+	/** The locations of nodes (four {@code int}s per node). */
+	private int[] locations = new int[4 * 1024];
+
+	/** The ordinals of operators or types of nodes. */
+	private int[] opers = new int[1024];
+
+	/** The ids of names or constants of nodes. */
+	private int[] names = new int[1024];
+
+	/** The number of nodes. */
+	private int size = 0;
+
+	/** The names and constants. */
+	private final LexemePool lexemes = new LexemePool();
+
+	/** The abstract syntax tree nodes constructed by {@link #tree(int)}. */
+	private AbsTree[] trees = null;
+
+	/**
+	 * Adds a new node as the last child of its parent.
+	 *
+	 * @param kind     The kind of the node.
+	 * @param location The location of the node.
+	 * @param oper     The ordinal of the operator or type of the node (or 0).
+	 * @param name     The name or constant of the node (or {@code null}).
+	 * @param parent   The parent of the node (or -1 for the root).
+	 * @return The node.
+	 */
+	public int add(Kind kind, Locatable location, int oper, String name, int parent) {
+		if (lastChilds == null)
+			throw new Report.InternalError();
+		if (size == kinds.length) {
+			kinds = Arrays.copyOf(kinds, 2 * size);
+			firstChilds = Arrays.copyOf(firstChilds, 2 * size);
+			nextSiblings = Arrays.copyOf(nextSiblings, 2 * size);
+			lastChilds = Arrays.copyOf(lastChilds, 2 * size);
+			locations = Arrays.copyOf(locations, 8 * size);
+			opers = Arrays.copyOf(opers, 2 * size);
+			names = Arrays.copyOf(names, 2 * size);
+		}
+		int node = size++;
+		Location loc = location.location();
+		kinds[node] = (byte) kind.ordinal();
+		firstChilds[node] = -1;
+		nextSiblings[node] = -1;
+		lastChilds[node] = -1;
+		locations[4 * node + 0] = loc.begLine();
+		locations[4 * node + 1] = loc.begColumn();
+		locations[4 * node + 2] = loc.endLine();
+		locations[4 * node + 3] = loc.endColumn();
+		opers[node] = oper;
+		names[node] = name == null ? -1 : lexemes.intern(name);
+		if (parent != -1) {
+			if (lastChilds[parent] == -1)
+				firstChilds[parent] = node;
+			else
+				nextSiblings[lastChilds[parent]] = node;
+			lastChilds[parent] = node;
+		}
+		return node;
+	}
+
+	/**
+	 * Trims the arrays to the number of nodes. No nodes can be added afterwards.
+	 */
+	public void trim() {
+		kinds = Arrays.copyOf(kinds, size);
+		firstChilds = Arrays.copyOf(firstChilds, size);
+		nextSiblings = Arrays.copyOf(nextSiblings, size);
+		lastChilds = null;
+		locations = Arrays.copyOf(locations, 4 * size);
+		opers = Arrays.copyOf(opers, size);
+		names = Arrays.copyOf(names, size);
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return The number of nodes.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the root of the tree.
+	 *
+	 * @return The root of the tree.
+	 */
+	public int root() {
+		return 0;
+	}
+
+	/**
+	 * Returns the kind of a node.
+	 *
+	 * @param node The node.
+	 * @return The kind.
+	 */
+	public Kind kind(int node) {
+		return kindValues[kinds[node]];
+	}
+
+	/**
+	 * Returns the first child of a node.
+	 *
+	 * @param node The node.
+	 * @return The first child (or -1 if the node has no children).
+	 */
+	public int firstChild(int node) {
+		return firstChilds[node];
+	}
+
+	/**
+	 * Returns the next sibling of a node.
+	 *
+	 * @param node The node.
+	 * @return The next sibling (or -1 if the node is the last child).
+	 */
+	public int nextSibling(int node) {
+		return nextSiblings[node];
+	}
+
+	/**
+	 * Returns the specified child of a node.
+	 *
+	 * @param node  The node.
+	 * @param index The index of the child.
+	 * @return The child.
+	 */
+	public int child(int node, int index) {
+		int child = firstChilds[node];
+		while (index-- > 0)
+			child = nextSiblings[child];
+		return child;
+	}
+
+	/**
+	 * Returns the number of children of a node.
+	 *
+	 * @param node The node.
+	 * @return The number of children.
+	 */
+	public int numChilds(int node) {
+		int numChilds = 0;
+		for (int child = firstChilds[node]; child != -1; child = nextSiblings[child])
+			numChilds++;
+		return numChilds;
+	}
+
+	/**
+	 * Returns the location of a node.
+	 *
+	 * @param node The node.
+	 * @return The location.
+	 */
+	public Location location(int node) {
+		return new Location(locations[4 * node + 0], locations[4 * node + 1], locations[4 * node + 2],
+				locations[4 * node + 3]);
+	}
+
+	/**
+	 * Returns the ordinal of the operator or type of a node.
+	 *
+	 * @param node The node.
+	 * @return The ordinal of the operator or type.
+	 */
+	public int oper(int node) {
+		return opers[node];
+	}
+
+	/**
+	 * Returns the name or constant of a node.
+	 *
+	 * @param node The node.
+	 * @return The name or constant (or {@code null} if the node has none).
+	 */
+	public String name(int node) {
+		return names[node] == -1 ? null : lexemes.lexeme(names[node]);
+	}
+
+	/**
+	 * Returns the (approximate) number of bytes occupied by the arrays of the
+	 * arena.
+	 *
+	 * @return The number of bytes.
+	 */
+	public long bytes() {
+		return kinds.length + 4L * (firstChilds.length + nextSiblings.length + locations.length + opers.length
+				+ names.length + (lastChilds == null ? 0 : lastChilds.length));
+	}
+
+	/**
+	 * Returns the abstract syntax tree node of the specified node, i.e., the
+	 * adapter that allows any {@link compiler.data.abstree.visitor.AbsVisitor} to
+	 * run over the arena. Nodes are constructed when they (or their ancestors) are
+	 * first requested and cached afterwards, so the same object is returned for
+	 * the same node and attributes associated with nodes by one visitor are found
+	 * by the next one.
+	 *
+	 * @param node The node.
+	 * @return The abstract syntax tree node.
+	 */
+	public AbsTree tree(int node) {
+		if (trees == null)
+			trees = new AbsTree[size];
+		if (trees[node] == null)
+			trees[node] = construct(node);
+		return trees[node];
+	}
+
+	/**
+	 * Constructs the abstract syntax tree node of the specified node.
+	 *
+	 * @param node The node.
+	 * @return The abstract syntax tree node.
+	 */
+	private AbsTree construct(int node) {
+		Location loc = location(node);
+		int child = firstChilds[node];
+		switch (kind(node)) {
+		case Source:
+			return new AbsSource(loc, (AbsDecls) tree(child));
+		case Decls: {
+			Vector<AbsDecl> decls = new Vector<AbsDecl>();
+			for (; child != -1; child = nextSiblings[child])
+				decls.add((AbsDecl) tree(child));
+			return new AbsDecls(loc, decls);
+		}
+		case TypDecl:
+			return new AbsTypDecl(loc, name(node), (AbsType) tree(child));
+		case VarDecl:
+			return new AbsVarDecl(loc, name(node), (AbsType) tree(child));
+		case ParDecl:
+			return new AbsParDecl(loc, name(node), (AbsType) tree(child));
+		case CompDecl:
+			return new AbsCompDecl(loc, name(node), (AbsType) tree(child));
+		case FunDecl:
+			return new AbsFunDecl(loc, name(node), (AbsParDecls) tree(child), (AbsType) tree(nextSiblings[child]));
+		case FunDef:
+			return new AbsFunDef(loc, name(node), (AbsParDecls) tree(child), (AbsType) tree(nextSiblings[child]),
+					(AbsExpr) tree(nextSiblings[nextSiblings[child]]));
+		case ParDecls: {
+			Vector<AbsParDecl> parDecls = new Vector<AbsParDecl>();
+			for (; child != -1; child = nextSiblings[child])
+				parDecls.add((AbsParDecl) tree(child));
+			return new AbsParDecls(loc, parDecls);
+		}
+		case CompDecls: {
+			Vector<AbsCompDecl> compDecls = new Vector<AbsCompDecl>();
+			for (; child != -1; child = nextSiblings[child])
+				compDecls.add((AbsCompDecl) tree(child));
+			return new AbsCompDecls(loc, compDecls);
+		}
+		case AtomType:
+			return new AbsAtomType(loc, AbsAtomType.Type.values()[opers[node]]);
+		case ArrType:
+			return new AbsArrType(loc, (AbsExpr) tree(child), (AbsType) tree(nextSiblings[child]));
+		case PtrType:
+			return new AbsPtrType(loc, (AbsType) tree(child));
+		case RecType:
+			return new AbsRecType(loc, (AbsCompDecls) tree(child));
+		case TypName:
+			return new AbsTypName(loc, name(node));
+		case Args: {
+			Vector<AbsExpr> args = new Vector<AbsExpr>();
+			for (; child != -1; child = nextSiblings[child])
+				args.add((AbsExpr) tree(child));
+			return new AbsArgs(loc, args);
+		}
+		case ArrExpr:
+			return new AbsArrExpr(loc, (AbsExpr) tree(child), (AbsExpr) tree(nextSiblings[child]));
+		case AtomExpr:
+			return new AbsAtomExpr(loc, AbsAtomExpr.Type.values()[opers[node]], name(node));
+		case BinExpr:
+			return new AbsBinExpr(loc, AbsBinExpr.Oper.values()[opers[node]], (AbsExpr) tree(child),
+					(AbsExpr) tree(nextSiblings[child]));
+		case BlockExpr:
+			return new AbsBlockExpr(loc, (AbsDecls) tree(child), (AbsStmts) tree(nextSiblings[child]),
+					(AbsExpr) tree(nextSiblings[nextSiblings[child]]));
+		case CastExpr:
+			return new AbsCastExpr(loc, (AbsExpr) tree(child), (AbsType) tree(nextSiblings[child]));
+		case DelExpr:
+			return new AbsDelExpr(loc, (AbsExpr) tree(child));
+		case FunName:
+			return new AbsFunName(loc, name(node), (AbsArgs) tree(child));
+		case NewExpr:
+			return new AbsNewExpr(loc, (AbsType) tree(child));
+		case RecExpr:
+			return new AbsRecExpr(loc, (AbsExpr) tree(child), (AbsVarName) tree(nextSiblings[child]));
+		case UnExpr:
+			return new AbsUnExpr(loc, AbsUnExpr.Oper.values()[opers[node]], (AbsExpr) tree(child));
+		case VarName:
+			return new AbsVarName(loc, name(node));
+		case Stmts: {
+			Vector<AbsStmt> stmts = new Vector<AbsStmt>();
+			for (; child != -1; child = nextSiblings[child])
+				stmts.add((AbsStmt) tree(child));
+			return new AbsStmts(loc, stmts);
+		}
+		case AssignStmt:
+			return new AbsAssignStmt(loc, (AbsExpr) tree(child), (AbsExpr) tree(nextSiblings[child]));
+		case ExprStmt:
+			return new AbsExprStmt(loc, (AbsExpr) tree(child));
+		case IfStmt:
+			return new AbsIfStmt(loc, (AbsExpr) tree(child), (AbsStmts) tree(nextSiblings[child]),
+					(AbsStmts) tree(nextSiblings[nextSiblings[child]]));
+		case WhileStmt:
+			return new AbsWhileStmt(loc, (AbsExpr) tree(child), (AbsStmts) tree(nextSiblings[child]));
+		default:
+			throw new Report.InternalError();
+		}
+	}
+
+}
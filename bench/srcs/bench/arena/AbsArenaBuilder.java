@@ -0,0 +1,268 @@
+package bench.arena;
+
+import compiler.data.abstree.*;
+import compiler.data.abstree.visitor.*;
+
+/**
+ * Stores an abstract syntax tree in an arena. The argument of the visitor is
+ * the parent of the node being visited (or -1 for the root) and the result is
+ * the node added to the arena.
+ */
+public class AbsArenaBuilder implements AbsVisitor<Integer, Integer> {
+
+	/** The arena the abstract syntax tree is stored in. */
+	public final AbsArena arena = new AbsArena();
+
+	/**
+	 * Stores an abstract syntax tree in a new arena.
+	 *
+	 * @param tree The abstract syntax tree.
+	 * @return The arena (trimmed).
+	 */
+	public static AbsArena arena(AbsTree tree) {
+		AbsArenaBuilder builder = new AbsArenaBuilder();
+		tree.accept(builder, -1);
+		builder.arena.trim();
+		return builder.arena;
+	}
+
+	@Override
+	public Integer visit(AbsArgs args, Integer parent) {
+		int node = arena.add(AbsArena.Kind.Args, args, 0, null, parent);
+		for (int index = 0; index < args.numArgs(); index++)
+			args.arg(index).accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsArrExpr arrExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.ArrExpr, arrExpr, 0, null, parent);
+		arrExpr.array.accept(this, node);
+		arrExpr.index.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsArrType arrType, Integer parent) {
+		int node = arena.add(AbsArena.Kind.ArrType, arrType, 0, null, parent);
+		arrType.len.accept(this, node);
+		arrType.elemType.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsAssignStmt assignStmt, Integer parent) {
+		int node = arena.add(AbsArena.Kind.AssignStmt, assignStmt, 0, null, parent);
+		assignStmt.dst.accept(this, node);
+		assignStmt.src.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsAtomExpr atomExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.AtomExpr, atomExpr, atomExpr.type.ordinal(), atomExpr.expr, parent);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsAtomType atomType, Integer parent) {
+		int node = arena.add(AbsArena.Kind.AtomType, atomType, atomType.type.ordinal(), null, parent);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsBinExpr binExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.BinExpr, binExpr, binExpr.oper.ordinal(), null, parent);
+		binExpr.fstExpr.accept(this, node);
+		binExpr.sndExpr.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsBlockExpr blockExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.BlockExpr, blockExpr, 0, null, parent);
+		blockExpr.decls.accept(this, node);
+		blockExpr.stmts.accept(this, node);
+		blockExpr.expr.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsCastExpr castExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.CastExpr, castExpr, 0, null, parent);
+		castExpr.expr.accept(this, node);
+		castExpr.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsCompDecl compDecl, Integer parent) {
+		int node = arena.add(AbsArena.Kind.CompDecl, compDecl, 0, compDecl.name, parent);
+		compDecl.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsCompDecls compDecls, Integer parent) {
+		int node = arena.add(AbsArena.Kind.CompDecls, compDecls, 0, null, parent);
+		for (int index = 0; index < compDecls.numCompDecls(); index++)
+			compDecls.compDecl(index).accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsDecls decls, Integer parent) {
+		int node = arena.add(AbsArena.Kind.Decls, decls, 0, null, parent);
+		for (int index = 0; index < decls.numDecls(); index++)
+			decls.decl(index).accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsDelExpr delExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.DelExpr, delExpr, 0, null, parent);
+		delExpr.expr.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsExprStmt exprStmt, Integer parent) {
+		int node = arena.add(AbsArena.Kind.ExprStmt, exprStmt, 0, null, parent);
+		exprStmt.expr.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsFunDecl funDecl, Integer parent) {
+		int node = arena.add(AbsArena.Kind.FunDecl, funDecl, 0, funDecl.name, parent);
+		funDecl.parDecls.accept(this, node);
+		funDecl.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsFunDef funDef, Integer parent) {
+		int node = arena.add(AbsArena.Kind.FunDef, funDef, 0, funDef.name, parent);
+		funDef.parDecls.accept(this, node);
+		funDef.type.accept(this, node);
+		funDef.value.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsFunName funName, Integer parent) {
+		int node = arena.add(AbsArena.Kind.FunName, funName, 0, funName.name, parent);
+		funName.args.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsIfStmt ifStmt, Integer parent) {
+		int node = arena.add(AbsArena.Kind.IfStmt, ifStmt, 0, null, parent);
+		ifStmt.cond.accept(this, node);
+		ifStmt.thenStmts.accept(this, node);
+		ifStmt.elseStmts.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsNewExpr newExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.NewExpr, newExpr, 0, null, parent);
+		newExpr.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsParDecl parDecl, Integer parent) {
+		int node = arena.add(AbsArena.Kind.ParDecl, parDecl, 0, parDecl.name, parent);
+		parDecl.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsParDecls parDecls, Integer parent) {
+		int node = arena.add(AbsArena.Kind.ParDecls, parDecls, 0, null, parent);
+		for (int index = 0; index < parDecls.numParDecls(); index++)
+			parDecls.parDecl(index).accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsPtrType ptrType, Integer parent) {
+		int node = arena.add(AbsArena.Kind.PtrType, ptrType, 0, null, parent);
+		ptrType.ptdType.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsRecExpr recExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.RecExpr, recExpr, 0, null, parent);
+		recExpr.record.accept(this, node);
+		recExpr.comp.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsRecType recType, Integer parent) {
+		int node = arena.add(AbsArena.Kind.RecType, recType, 0, null, parent);
+		recType.compDecls.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsSource source, Integer parent) {
+		int node = arena.add(AbsArena.Kind.Source, source, 0, null, parent);
+		source.decls.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsStmts stmts, Integer parent) {
+		int node = arena.add(AbsArena.Kind.Stmts, stmts, 0, null, parent);
+		for (int index = 0; index < stmts.numStmts(); index++)
+			stmts.stmt(index).accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsTypDecl typDecl, Integer parent) {
+		int node = arena.add(AbsArena.Kind.TypDecl, typDecl, 0, typDecl.name, parent);
+		typDecl.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsTypName typName, Integer parent) {
+		int node = arena.add(AbsArena.Kind.TypName, typName, 0, typName.name, parent);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsUnExpr unExpr, Integer parent) {
+		int node = arena.add(AbsArena.Kind.UnExpr, unExpr, unExpr.oper.ordinal(), null, parent);
+		unExpr.subExpr.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsVarDecl varDecl, Integer parent) {
+		int node = arena.add(AbsArena.Kind.VarDecl, varDecl, 0, varDecl.name, parent);
+		varDecl.type.accept(this, node);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsVarName varName, Integer parent) {
+		int node = arena.add(AbsArena.Kind.VarName, varName, 0, varName.name, parent);
+		return node;
+	}
+
+	@Override
+	public Integer visit(AbsWhileStmt whileStmt, Integer parent) {
+		int node = arena.add(AbsArena.Kind.WhileStmt, whileStmt, 0, null, parent);
+		whileStmt.cond.accept(this, node);
+		whileStmt.stmts.accept(this, node);
+		return node;
+	}
+
+}
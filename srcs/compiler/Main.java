@@ -5,6 +5,10 @@ package compiler;
 
 import java.util.*;
 import compiler.common.report.*;
+import compiler.data.abstree.visitor.*;
+import compiler.data.dertree.*;
+import compiler.data.dertree.visitor.*;
+import compiler.phases.*;
 import compiler.phases.endproduct.EndProd;
 import compiler.phases.lexan.*;
 import compiler.phases.synan.*;
@@ -69,6 +73,48 @@ public class Main {
 							continue;
 						}
 					}
+					if (args[argc].matches("--input=(read|mmap)")) {
+						if (cmdLine.get("--input") == null) {
+							cmdLine.put("--input", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--lexan-threads=[1-9][0-9]*")) {
+						if (cmdLine.get("--lexan-threads") == null) {
+							cmdLine.put("--lexan-threads", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--syntax-errors=[1-9][0-9]*")) {
+						if (cmdLine.get("--syntax-errors") == null) {
+							cmdLine.put("--syntax-errors", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--synan-threads=[1-9][0-9]*")) {
+						if (cmdLine.get("--synan-threads") == null) {
+							cmdLine.put("--synan-threads", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--seman-threads=[1-9][0-9]*")) {
+						if (cmdLine.get("--seman-threads") == null) {
+							cmdLine.put("--seman-threads", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--logger=(dom|stream|binary)")) {
+						if (cmdLine.get("--logger") == null) {
+							cmdLine.put("--logger", args[argc].replaceFirst("^[^=]*=", ""));
+							continue;
+						}
+					}
+					if (args[argc].matches("--stats(=(table|json))?")) {
+						if (cmdLine.get("--stats") == null) {
+							cmdLine.put("--stats", args[argc].contains("=") ? args[argc].replaceFirst("^[^=]*=", "") : "table");
+							continue;
+						}
+					}
 					if (args[argc].matches("--xml=.*")) {
 						if (cmdLine.get("--xml") == null) {
 							cmdLine.put("--xml", args[argc].replaceFirst("^[^=]*=", ""));
@@ -107,27 +153,63 @@ public class Main {
 
 				// Lexical analysis.
 				if (cmdLine.get("--target-phase").equals("lexan")) {
+					long numOfTokens = 0;
 					try (LexAn lexan = new LexAn()) {
 						while (lexan.lexer().token != compiler.data.symbol.Symbol.Term.EOF)
-							;
+							numOfTokens++;
 					}
+					PhaseStats.count("lexan", "tokens", numOfTokens);
 					break;
 				}
 
-				// Syntax analysis.
+				// Syntax analysis (the derivation tree is constructed only if it is logged
+				// or it is the final result of the compilation, otherwise the abstract
+				// syntax tree is constructed directly).
+				String loggedPhase = cmdLine.get("--logged-phase");
+				boolean derTree = cmdLine.get("--target-phase").equals("synan")
+						|| ((loggedPhase != null) && loggedPhase.matches("synan|all"));
 				try (SynAn synan = new SynAn()) {
-					synan.parser();
-					SynAn.derTree.accept(new DerLogger(synan.logger), null);
+					if (derTree) {
+						synan.parser();
+						SynAn.derTree.accept(new DerLogger(synan.logger), null);
+					} else {
+						Abstr.absTree = synan.absParser();
+						PhaseStats.count("synan", "tokens", synan.numOfTokens());
+					}
+				}
+				if (derTree && PhaseStats.enabled()) {
+					long[] numOfDerNodes = new long[2];
+					SynAn.derTree.accept(new DerFullVisitor<Object, Object>() {
+						@Override
+						public Object visit(DerLeaf leaf, Object visArg) {
+							numOfDerNodes[0]++;
+							return null;
+						}
+
+						@Override
+						public Object visit(DerNode node, Object visArg) {
+							numOfDerNodes[1]++;
+							return super.visit(node, visArg);
+						}
+					}, null);
+					PhaseStats.count("synan", "tokens", numOfDerNodes[0]);
+					PhaseStats.count("synan", "dernodes", numOfDerNodes[1]);
 				}
 				if (cmdLine.get("--target-phase").equals("synan"))
 					break;
 
 				// Abstract syntax.
 				try (Abstr abstr = new Abstr()) {
-					Abstr.absTree = SynAn.derTree.accept(new AbsTreeConstructor(), null);
+					if (derTree)
+						Abstr.absTree = SynAn.derTree.accept(new AbsTreeConstructor(), null);
 					AbsLogger logger = new AbsLogger(abstr.logger);
 					Abstr.absTree.accept(logger, null);
 				}
+				if (PhaseStats.enabled()) {
+					AbsNodeCounter counter = new AbsNodeCounter();
+					Abstr.absTree.accept(counter, null);
+					PhaseStats.count("abstr", "absnodes", counter.numOfNodes);
+				}
 				if (cmdLine.get("--target-phase").equals("abstr"))
 					break;
 
@@ -188,6 +270,14 @@ public class Main {
 					// Chunks.codeChunks);
 					// System.out.println("EXIT CODE: " + interpreter.run("_main"));
 				}
+				if (PhaseStats.enabled()) {
+					long numOfStmts = 0;
+					for (compiler.data.chunk.CodeChunk codeChunk : Chunks.codeChunks)
+						numOfStmts += codeChunk.stmts().size();
+					PhaseStats.count("chunks", "codechunks", Chunks.codeChunks.size());
+					PhaseStats.count("chunks", "datachunks", Chunks.dataChunks.size());
+					PhaseStats.count("chunks", "imcstmts", numOfStmts);
+				}
 				if (cmdLine.get("--target-phase").equals("chunks"))
 					break;
 
@@ -196,6 +286,19 @@ public class Main {
 					asmgen.genAsmCodes();
 					asmgen.log();
 				}
+				if (PhaseStats.enabled()) {
+					long numOfInstrs = 0;
+					HashSet<compiler.data.layout.Temp> temps = new HashSet<compiler.data.layout.Temp>();
+					for (compiler.data.asmcode.Code code : AsmGen.codes) {
+						numOfInstrs += code.instrs.size();
+						for (compiler.data.asmcode.AsmInstr instr : code.instrs) {
+							temps.addAll(instr.uses());
+							temps.addAll(instr.defs());
+						}
+					}
+					PhaseStats.count("asmgen", "asminstrs", numOfInstrs);
+					PhaseStats.count("asmgen", "temps", temps.size());
+				}
 				if (cmdLine.get("--target-phase").equals("asmgen"))
 					break;
 
@@ -212,9 +315,20 @@ public class Main {
 					ralloc.tempsToRegs();
 					ralloc.log();
 				}
+				if (PhaseStats.enabled()) {
+					long numOfInstrs = 0;
+					long numOfSpills = 0;
+					for (compiler.data.asmcode.Code code : AsmGen.codes) {
+						numOfInstrs += code.instrs.size();
+						numOfSpills += code.tempSize / 8;
+					}
+					PhaseStats.count("ralloc", "asminstrs", numOfInstrs);
+					PhaseStats.count("ralloc", "spills", numOfSpills);
+				}
 				if (cmdLine.get("--target-phase").equals("ralloc"))
 					break;
 
+				PhaseStats endProdStats = PhaseStats.begin("endproduct");
 				try {
 					EndProd endProd = new EndProd();
 					endProd.finishCode();
@@ -222,6 +336,8 @@ public class Main {
 				} catch (Exception e){
 					e.printStackTrace();
 				}
+				if (endProdStats != null)
+					endProdStats.end();
 
 				if (cmdLine.get("--target-phase").equals("endproduct"))
 					break;
@@ -232,8 +348,10 @@ public class Main {
 
 			} while (false);
 
+			PhaseStats.print();
 			Report.info("Done.");
 		} catch (Report.Error __) {
+			PhaseStats.print();
 		}
 	}
 
@@ -0,0 +1,178 @@
+/**
+ * @author sliva
+ */
+package compiler.common.logger;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import compiler.common.report.*;
+
+/**
+ * A logger producing a compact binary log that can be converted into the XML
+ * log by {@link LogConverter}.
+ * 
+ * The binary log starts with {@link #MAGIC}, followed by the name of the phase
+ * being logged and the name of the relating XSL file. It continues with a
+ * stream of events, each one starting with a single byte:
+ * 
+ * <ul>
+ * <li>{@link #BEG} followed by the tag name of the started XML element,</li>
+ * <li>{@link #ATTR} followed by the name and the value of the attribute of the
+ * active XML element,</li>
+ * <li>{@link #END} ending the active XML element, and</li>
+ * <li>{@link #EOF} ending the log.</li>
+ * </ul>
+ * 
+ * The XML element representing the phase is started and ended implicitly.
+ * Values are written as an unsigned variable-length integer denoting the
+ * length of the value in bytes, followed by the UTF-8 encoded value. Tag and
+ * attribute names are written in the same way, but with the length shifted
+ * left by one and the lowest bit set; each name is written out only once and
+ * is denoted by its index shifted left by one whenever it appears again.
+ * 
+ * @author sliva
+ */
+public class BinaryLogger implements Logger {
+
+	/** The bytes the binary log starts with. */
+	static final byte[] MAGIC = { 'P', 'R', 'E', 'V', 'L', 'O', 'G', 1 };
+
+	/** The event ending the log. */
+	static final int EOF = 0;
+
+	/** The event starting a new XML element. */
+	static final int BEG = 1;
+
+	/** The event adding an attribute to the active XML element. */
+	static final int ATTR = 2;
+
+	/** The event ending the active XML element. */
+	static final int END = 3;
+
+	/** The name of the binary log file to be produced. */
+	private final String logFileName;
+
+	/** The name of the phase being logged. */
+	private final String phaseName;
+
+	/** The name of the relating XSL file. */
+	private final String xslFileName;
+
+	/** The binary log file being written (or {@code null} if not created yet). */
+	private DataOutputStream out = null;
+
+	/** The indices of tag and attribute names written out so far. */
+	private final HashMap<String, Integer> names = new HashMap<String, Integer>();
+
+	/** The number of XML elements that have been started but not ended yet. */
+	private int depth = 1;
+
+	/**
+	 * Constructs a new binary logger. The binary log file is not created until
+	 * something is logged or the logger is closed.
+	 * 
+	 * @param phaseName   The name of the phase being logged.
+	 * @param logFileName The name of the binary log file to be produced.
+	 * @param xslFileName The name of the relating XSL file.
+	 */
+	public BinaryLogger(String phaseName, String logFileName, String xslFileName) {
+		this.phaseName = phaseName;
+		this.logFileName = logFileName;
+		this.xslFileName = xslFileName;
+	}
+
+	/**
+	 * Creates the binary log file and writes out its header (unless it has
+	 * already been done).
+	 */
+	private void open() {
+		if (out != null)
+			return;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFileName), 1 << 16));
+			out.write(MAGIC);
+			writeValue(phaseName);
+			writeValue(xslFileName);
+		} catch (IOException ex) {
+			throw new Report.Error("Cannot open log file '" + logFileName + "'.");
+		}
+	}
+
+	@Override
+	public void close() {
+		if (depth != 1)
+			throw new InternalError();
+		open();
+		try {
+			out.writeByte(EOF);
+			out.close();
+		} catch (IOException ex) {
+			Report.warning("Cannot write log file '" + logFileName + "'.");
+		}
+	}
+
+	@Override
+	public void begElement(String tagName) {
+		open();
+		try {
+			out.writeByte(BEG);
+			writeName(tagName);
+		} catch (IOException ex) {
+			throw new Report.Error("Cannot write log file '" + logFileName + "'.");
+		}
+		depth++;
+	}
+
+	@Override
+	public void endElement() {
+		if (depth == 1)
+			throw new InternalError();
+		open();
+		try {
+			out.writeByte(END);
+		} catch (IOException ex) {
+			throw new Report.Error("Cannot write log file '" + logFileName + "'.");
+		}
+		depth--;
+	}
+
+	@Override
+	public void addAttribute(String attrName, String attrValue) {
+		open();
+		try {
+			out.writeByte(ATTR);
+			writeName(attrName);
+			writeValue(attrValue == null ? "" : attrValue);
+		} catch (IOException ex) {
+			throw new Report.Error("Cannot write log file '" + logFileName + "'.");
+		}
+	}
+
+	private void writeName(String name) throws IOException {
+		Integer index = names.get(name);
+		if (index != null) {
+			writeVarInt(index << 1);
+			return;
+		}
+		names.put(name, names.size());
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		writeVarInt((bytes.length << 1) | 1);
+		out.write(bytes);
+	}
+
+	private void writeValue(String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+}
@@ -0,0 +1,128 @@
+/**
+ * @author sliva
+ */
+package compiler.common.logger;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import compiler.common.report.*;
+
+/**
+ * Converts a binary log produced by {@link BinaryLogger} into the XML log
+ * (referring to the same XSL file) that would have been produced by
+ * {@link DOMLogger} or {@link XMLStreamLogger}.
+ * 
+ * Usage: {@code LogConverter binary-log-file [xml-file]}; if the name of the
+ * XML file is not specified, it is derived from the name of the binary log
+ * file.
+ * 
+ * @author sliva
+ */
+public class LogConverter {
+
+	/** The binary log file being read. */
+	private final DataInputStream in;
+
+	/** Tag and attribute names read so far (indexed as in the binary log). */
+	private final Vector<String> names = new Vector<String>();
+
+	/**
+	 * Constructs a new converter of a binary log.
+	 * 
+	 * @param in The binary log file.
+	 */
+	private LogConverter(DataInputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * The converter's {@code main} method.
+	 * 
+	 * @param args Command line arguments.
+	 */
+	public static void main(String[] args) {
+		try {
+			if ((args.length < 1) || (args.length > 2))
+				throw new Report.Error("Usage: LogConverter binary-log-file [xml-file]");
+			String xmlFileName = args.length > 1 ? args[1] : args[0].replaceFirst("\\.bin$", "") + ".xml";
+			convert(args[0], xmlFileName);
+		} catch (Report.Error __) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Converts a binary log into the XML log.
+	 * 
+	 * @param logFileName The name of the binary log file.
+	 * @param xmlFileName The name of the XML file to be produced.
+	 */
+	public static void convert(String logFileName, String xmlFileName) {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(logFileName), 1 << 16))) {
+			new LogConverter(in).replay(logFileName, xmlFileName);
+		} catch (IOException ex) {
+			throw new Report.Error("Cannot read log file '" + logFileName + "'.");
+		}
+	}
+
+	private void replay(String logFileName, String xmlFileName) throws IOException {
+		byte[] magic = new byte[BinaryLogger.MAGIC.length];
+		in.readFully(magic);
+		if (!Arrays.equals(magic, BinaryLogger.MAGIC))
+			throw new Report.Error("File '" + logFileName + "' is not a binary log.");
+		String phaseName = readValue();
+		String xslFileName = readValue();
+
+		XMLStreamLogger logger = new XMLStreamLogger(phaseName, xmlFileName, xslFileName);
+		while (true) {
+			int event = in.readUnsignedByte();
+			switch (event) {
+			case BinaryLogger.EOF:
+				logger.close();
+				return;
+			case BinaryLogger.BEG:
+				logger.begElement(readName());
+				break;
+			case BinaryLogger.ATTR:
+				String attrName = readName();
+				logger.addAttribute(attrName, readValue());
+				break;
+			case BinaryLogger.END:
+				logger.endElement();
+				break;
+			default:
+				throw new Report.Error("Binary log '" + logFileName + "' is corrupted.");
+			}
+		}
+	}
+
+	private String readName() throws IOException {
+		int header = readVarInt();
+		if ((header & 1) == 0)
+			return names.get(header >>> 1);
+		byte[] bytes = new byte[header >>> 1];
+		in.readFully(bytes);
+		String name = new String(bytes, StandardCharsets.UTF_8);
+		names.add(name);
+		return name;
+	}
+
+	private String readValue() throws IOException {
+		byte[] bytes = new byte[readVarInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0;; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * @author sliva
+ */
+package compiler.common.logger;
+
+import java.io.*;
+import java.util.*;
+import javax.xml.stream.*;
+import compiler.common.report.*;
+
+/**
+ * A logger that writes the XML log incrementally instead of building the
+ * entire XML document in memory, so its memory consumption does not depend on
+ * the size of the log.
+ * 
+ * The produced XML file is the same as the one produced by {@link DOMLogger}: the
+ * start tag of an XML element is written out only when its first child is
+ * started or when the element is ended, so attributes can be added to the
+ * active XML element until then, and they are written out in alphabetical
+ * order.
+ * 
+ * @author sliva
+ */
+public class XMLStreamLogger implements Logger {
+
+	/** The name of the XML file to be produced. */
+	private final String xmlFileName;
+
+	/** The name of the relating XSL file. */
+	private final String xslFileName;
+
+	/** The XML file being written (or {@code null} if not created yet). */
+	private Writer out = null;
+
+	/** The writer of the XML file (or {@code null} if not created yet). */
+	private XMLStreamWriter xml = null;
+
+	/** The number of XML elements that have been started but not ended yet. */
+	private int depth = 0;
+
+	/** The tag name of the active XML element if its start tag has not been written out yet. */
+	private String pendingTagName = null;
+
+	/** The attributes of the active XML element if its start tag has not been written out yet. */
+	private final TreeMap<String, String> pendingAttrs = new TreeMap<String, String>();
+
+	/**
+	 * Constructs a new streaming logger. The XML file is not created until
+	 * something is logged or the logger is closed.
+	 * 
+	 * @param phaseName   The name of the phase being logged.
+	 * @param xmlFileName The name of the XML file to be produced.
+	 * @param xslFileName The name of the relating XSL file.
+	 */
+	public XMLStreamLogger(String phaseName, String xmlFileName, String xslFileName) {
+		this.xmlFileName = xmlFileName;
+		this.xslFileName = xslFileName;
+		pendingTagName = phaseName;
+		depth = 1;
+	}
+
+	/**
+	 * Creates the XML file and writes out its header (unless it has already been
+	 * done).
+	 */
+	private void open() {
+		if (xml != null)
+			return;
+		try {
+			out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(xmlFileName), "UTF-8"), 1 << 16);
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+			xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+			xml.writeProcessingInstruction("xml-stylesheet", "type=\"text/xsl\" href=\"" + xslFileName + "\"");
+		} catch (IOException | XMLStreamException ex) {
+			throw new Report.Error("Cannot open log file '" + xmlFileName + "'.");
+		}
+	}
+
+	@Override
+	public void close() {
+		endElement();
+		if (depth != 0)
+			throw new InternalError();
+		try {
+			xml.writeEndDocument();
+			xml.close();
+			out.close();
+		} catch (IOException | XMLStreamException ex) {
+			Report.warning("Cannot write log file '" + xmlFileName + "'.");
+		}
+	}
+
+	@Override
+	public void begElement(String tagName) {
+		flushStartTag(false);
+		pendingTagName = tagName;
+		depth++;
+	}
+
+	@Override
+	public void endElement() {
+		if (depth == 0)
+			throw new InternalError();
+		try {
+			if (pendingTagName != null)
+				flushStartTag(true);
+			else
+				xml.writeEndElement();
+		} catch (XMLStreamException ex) {
+			throw new Report.Error("Cannot write log file '" + xmlFileName + "'.");
+		}
+		depth--;
+	}
+
+	@Override
+	public void addAttribute(String attrName, String attrValue) {
+		if (pendingTagName == null)
+			throw new InternalError();
+		pendingAttrs.put(attrName, attrValue == null ? "" : attrValue);
+	}
+
+	/**
+	 * Writes out the start tag of the active XML element (if it has not been
+	 * written out yet).
+	 * 
+	 * @param empty Whether the active XML element has no children.
+	 */
+	private void flushStartTag(boolean empty) {
+		if (pendingTagName == null)
+			return;
+		open();
+		try {
+			if (empty)
+				xml.writeEmptyElement(pendingTagName);
+			else
+				xml.writeStartElement(pendingTagName);
+			for (Map.Entry<String, String> attr : pendingAttrs.entrySet())
+				xml.writeAttribute(attr.getKey(), attr.getValue());
+		} catch (XMLStreamException ex) {
+			throw new Report.Error("Cannot write log file '" + xmlFileName + "'.");
+		}
+		pendingTagName = null;
+		pendingAttrs.clear();
+	}
+
+}
@@ -89,6 +89,42 @@ public class Location implements Locatable, Loggable {
 		this(beg.location().begLine, beg.location().begColumn, end.location().endLine, end.location().endColumn);
 	}
 
+	/**
+	 * Returns the line number of the first character.
+	 * 
+	 * @return The line number of the first character.
+	 */
+	public int begLine() {
+		return begLine;
+	}
+
+	/**
+	 * Returns the column number of the first character.
+	 * 
+	 * @return The column number of the first character.
+	 */
+	public int begColumn() {
+		return begColumn;
+	}
+
+	/**
+	 * Returns the line number of the last character.
+	 * 
+	 * @return The line number of the last character.
+	 */
+	public int endLine() {
+		return endLine;
+	}
+
+	/**
+	 * Returns the column number of the last character.
+	 * 
+	 * @return The column number of the last character.
+	 */
+	public int endColumn() {
+		return endColumn;
+	}
+
 	@Override
 	public Location location() {
 		return this;
@@ -7,6 +7,8 @@ import compiler.common.report.*;
 
 public abstract class AbsDecl extends Location implements AbsTree {
 
+	private final int id = AbsTreeIds.next();
+
 	public final String name;
 
 	public final AbsType type;
@@ -17,4 +19,9 @@ public abstract class AbsDecl extends Location implements AbsTree {
 		this.type = type;
 	}
 
+	@Override
+	public int id() {
+		return id;
+	}
+
 }
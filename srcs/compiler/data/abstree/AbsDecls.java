@@ -9,6 +9,8 @@ import compiler.data.abstree.visitor.*;
 
 public class AbsDecls extends Location implements AbsTree {
 
+	private final int id = AbsTreeIds.next();
+
 	private final Vector<AbsDecl> decls;
 
 	public AbsDecls(Locatable location, Vector<AbsDecl> decls) {
@@ -33,4 +35,9 @@ public class AbsDecls extends Location implements AbsTree {
 		return visitor.visit(this, accArg);
 	}
 
+	@Override
+	public int id() {
+		return id;
+	}
+
 }
@@ -7,10 +7,17 @@ import compiler.common.report.*;
 
 public abstract class AbsExpr extends Location implements AbsTree {
 
+	private final int id = AbsTreeIds.next();
+
 	public AbsExpr(Locatable location) {
 		super(location);
 	}
 
 	public abstract AbsExpr relocate(Locatable location);
 
+	@Override
+	public int id() {
+		return id;
+	}
+
 }
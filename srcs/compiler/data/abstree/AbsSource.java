@@ -11,6 +11,8 @@ import compiler.data.abstree.visitor.*;
  */
 public class AbsSource extends Location implements AbsTree {
 
+	private final int id = AbsTreeIds.next();
+
 	public final AbsDecls decls;
 
 	public AbsSource(Locatable location, AbsDecls decls) {
@@ -22,4 +24,10 @@ public class AbsSource extends Location implements AbsTree {
 	public <Result, Arg> Result accept(AbsVisitor<Result, Arg> visitor, Arg accArg) {
 		return visitor.visit(this, accArg);
 	}
+
+	@Override
+	public int id() {
+		return id;
+	}
+
 }
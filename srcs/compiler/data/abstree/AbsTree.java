@@ -11,6 +11,13 @@ import compiler.data.abstree.visitor.*;
  */
 public interface AbsTree extends Locatable {
 
+	/**
+	 * Returns the identifier of this node (see {@link AbsTreeIds}).
+	 * 
+	 * @return The identifier of this node.
+	 */
+	public int id();
+
 	public abstract <Result, Arg> Result accept(AbsVisitor<Result, Arg> visitor, Arg accArg);
 
 }
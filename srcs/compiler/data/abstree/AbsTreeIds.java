@@ -0,0 +1,51 @@
+/**
+ * @author sliva
+ */
+package compiler.data.abstree;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Dense identifiers of abstract syntax tree nodes: nodes are numbered
+ * consecutively in the order of their construction (by any thread) starting
+ * with 0.
+ * 
+ * @author sliva
+ */
+public final class AbsTreeIds {
+
+	/** The number of nodes constructed so far. */
+	private static final AtomicInteger numOfIds = new AtomicInteger(0);
+
+	private AbsTreeIds() {
+	}
+
+	/**
+	 * Returns the identifier of a new node.
+	 * 
+	 * @return The identifier.
+	 */
+	static int next() {
+		return numOfIds.getAndIncrement();
+	}
+
+	/**
+	 * Returns the number of identifiers given out so far, i.e., an upper bound on
+	 * the identifiers of all nodes.
+	 * 
+	 * @return The number of identifiers.
+	 */
+	public static int numOfIds() {
+		return numOfIds.get();
+	}
+
+	/**
+	 * Starts numbering nodes with 0 again. Must not be called while any node
+	 * constructed before is still in use (e.g., only by a benchmark compiling the
+	 * same program many times, once all attributes have been cleared).
+	 */
+	public static void reset() {
+		numOfIds.set(0);
+	}
+
+}
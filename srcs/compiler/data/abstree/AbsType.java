@@ -7,10 +7,17 @@ import compiler.common.report.*;
 
 public abstract class AbsType extends Location implements AbsTree {
 
+	private final int id = AbsTreeIds.next();
+
 	public AbsType(Locatable location) {
 		super(location);
 	}
 
 	public abstract AbsType relocate(Locatable location);
 
+	@Override
+	public int id() {
+		return id;
+	}
+
 }
@@ -8,7 +8,8 @@ import compiler.common.report.*;
 import compiler.data.abstree.*;
 
 /**
- * An attribute of the abstract syntax tree node.
+ * An attribute of the abstract syntax tree node. Values are stored in an array
+ * indexed by the identifiers of nodes (see {@link AbsTreeIds}).
  * 
  * @author sliva
  *
@@ -17,15 +18,15 @@ import compiler.data.abstree.*;
  */
 public class AbsAttribute<Node extends AbsTree, Value> {
 
-	/** Mapping of nodes to values. */
-	private HashMap<Node, Value> mapping;
+	/** Values indexed by the identifiers of nodes. */
+	private Object[] values;
 
 	/** Whether this attribute can no longer be modified or not. */
 	private boolean lock;
 
 	/** Constructs a new attribute. */
 	public AbsAttribute() {
-		mapping = new HashMap<Node, Value>();
+		values = new Object[0];
 		lock = false;
 	}
 
@@ -39,7 +40,10 @@ public class AbsAttribute<Node extends AbsTree, Value> {
 	public Value put(Node node, Value value) {
 		if (lock)
 			throw new Report.InternalError();
-		mapping.put(node, value);
+		int id = node.id();
+		if (id >= values.length)
+			values = Arrays.copyOf(values, Math.max(Math.max(id + 1, 2 * values.length), AbsTreeIds.numOfIds()));
+		values[id] = value;
 		return value;
 	}
 
@@ -49,8 +53,10 @@ public class AbsAttribute<Node extends AbsTree, Value> {
 	 * @param node The specified abstract syntax tree node.
 	 * @return The value.
 	 */
+	@SuppressWarnings("unchecked")
 	public Value get(Node node) {
-		return mapping.get(node);
+		int id = node.id();
+		return id < values.length ? (Value) values[id] : null;
 	}
 
 	/**
@@ -60,4 +66,14 @@ public class AbsAttribute<Node extends AbsTree, Value> {
 		lock = true;
 	}
 
+	/**
+	 * Removes all values and unlocks this attribute so that the phase computing
+	 * it can be run again (e.g., by a benchmark compiling the same program many
+	 * times).
+	 */
+	public void clear() {
+		values = new Object[0];
+		lock = false;
+	}
+
 }
@@ -0,0 +1,75 @@
+/**
+ * @author sliva
+ */
+package compiler.data.abstree.attribute;
+
+import java.util.*;
+import compiler.common.report.*;
+import compiler.data.abstree.*;
+
+/**
+ * A boolean attribute of the abstract syntax tree node. Values are stored in a
+ * bit set indexed by the identifiers of nodes (see {@link AbsTreeIds}); a node
+ * without a value is associated with {@code false}.
+ * 
+ * @author sliva
+ *
+ * @param <Node> Nodes that values are associated with.
+ */
+public class AbsBoolAttribute<Node extends AbsTree> {
+
+	/** Values indexed by the identifiers of nodes. */
+	private BitSet values;
+
+	/** Whether this attribute can no longer be modified or not. */
+	private boolean lock;
+
+	/** Constructs a new attribute. */
+	public AbsBoolAttribute() {
+		values = new BitSet();
+		lock = false;
+	}
+
+	/**
+	 * Associates a value with the specified abstract syntax tree node.
+	 * 
+	 * @param node  The specified abstract syntax tree node.
+	 * @param value The value.
+	 * @return The value.
+	 */
+	public boolean put(Node node, boolean value) {
+		if (lock)
+			throw new Report.InternalError();
+		values.set(node.id(), value);
+		return value;
+	}
+
+	/**
+	 * Returns a value associated with the specified abstract syntax tree node.
+	 * 
+	 * @param node The specified abstract syntax tree node.
+	 * @return The value (or {@code false} if no value has been associated with the
+	 *         specified node).
+	 */
+	public boolean get(Node node) {
+		return values.get(node.id());
+	}
+
+	/**
+	 * Prevents further modification of this attribute.
+	 */
+	public void lock() {
+		lock = true;
+	}
+
+	/**
+	 * Removes all values and unlocks this attribute so that the phase computing
+	 * it can be run again (e.g., by a benchmark compiling the same program many
+	 * times).
+	 */
+	public void clear() {
+		values = new BitSet();
+		lock = false;
+	}
+
+}
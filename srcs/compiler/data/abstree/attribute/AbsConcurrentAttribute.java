@@ -0,0 +1,167 @@
+/**
+ * @author sliva
+ */
+package compiler.data.abstree.attribute;
+
+import java.util.concurrent.atomic.*;
+import compiler.common.report.*;
+import compiler.data.abstree.*;
+
+/**
+ * An attribute of the abstract syntax tree node that can be computed by many
+ * threads at once.
+ * 
+ * While the attribute is being computed, values are stored in a three-level
+ * tree of atomic arrays indexed by the bits of the identifiers of nodes (see
+ * {@link AbsTreeIds}); the arrays are created lazily and installed by
+ * compare-and-set, so {@link #put} never blocks and never moves values that
+ * have already been stored. Once all threads computing the attribute have
+ * finished, {@link #lock()} freezes the values into a single plain array that
+ * any number of threads can read without locking.
+ * 
+ * @author sliva
+ * 
+ * @param <Node> Nodes that values are associated with.
+ * @param <Value> Values associated with nodes.
+ */
+public class AbsConcurrentAttribute<Node extends AbsTree, Value> extends AbsAttribute<Node, Value> {
+
+	/** The number of bits of an identifier indexing a leaf array. */
+	private static final int LEAF_BITS = 10;
+
+	/** The number of bits of an identifier indexing a middle array. */
+	private static final int MID_BITS = 10;
+
+	/** The number of bits of an identifier indexing the root array. */
+	private static final int ROOT_BITS = Integer.SIZE - 1 - MID_BITS - LEAF_BITS;
+
+	/** Values indexed by the identifiers of nodes (or {@code null} once locked). */
+	private volatile AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>> root;
+
+	/** The frozen values indexed by the identifiers of nodes (or {@code null} until locked). */
+	private volatile Object[] frozen;
+
+	/** Constructs a new attribute. */
+	public AbsConcurrentAttribute() {
+		root = new AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>>(1 << ROOT_BITS);
+		frozen = null;
+	}
+
+	/**
+	 * Associates a value with the specified abstract syntax tree node. Can be
+	 * called by many threads at once.
+	 * 
+	 * @param node  The specified abstract syntax tree node.
+	 * @param value The value.
+	 * @return The value.
+	 */
+	@Override
+	public Value put(Node node, Value value) {
+		AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>> root = this.root;
+		if (root == null)
+			throw new Report.InternalError();
+		int id = node.id();
+		AtomicReferenceArray<AtomicReferenceArray<Object>> mid = child(root, id >>> (MID_BITS + LEAF_BITS), MID_BITS);
+		AtomicReferenceArray<Object> leaf = child(mid, (id >>> LEAF_BITS) & ((1 << MID_BITS) - 1), LEAF_BITS);
+		leaf.set(id & ((1 << LEAF_BITS) - 1), value);
+		return value;
+	}
+
+	/**
+	 * Returns a value associated with the specified abstract syntax tree node.
+	 * 
+	 * @param node The specified abstract syntax tree node.
+	 * @return The value.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Value get(Node node) {
+		int id = node.id();
+		Object[] frozen = this.frozen;
+		if (frozen != null)
+			return id < frozen.length ? (Value) frozen[id] : null;
+		AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>> root = this.root;
+		if (root == null)
+			return get(node);
+		AtomicReferenceArray<AtomicReferenceArray<Object>> mid = root.get(id >>> (MID_BITS + LEAF_BITS));
+		if (mid == null)
+			return null;
+		AtomicReferenceArray<Object> leaf = mid.get((id >>> LEAF_BITS) & ((1 << MID_BITS) - 1));
+		if (leaf == null)
+			return null;
+		return (Value) leaf.get(id & ((1 << LEAF_BITS) - 1));
+	}
+
+	/**
+	 * Prevents further modification of this attribute and freezes its values.
+	 * Must not be called before all threads computing the attribute have
+	 * finished.
+	 */
+	@Override
+	public void lock() {
+		AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>> root = this.root;
+		if (root == null)
+			return;
+
+		// The number of identifiers covered by the leaf arrays created so far.
+		int size = 0;
+		for (int r = 0; r < root.length(); r++) {
+			AtomicReferenceArray<AtomicReferenceArray<Object>> mid = root.get(r);
+			if (mid == null)
+				continue;
+			for (int m = 0; m < mid.length(); m++)
+				if (mid.get(m) != null)
+					size = ((r << MID_BITS) + m + 1) << LEAF_BITS;
+		}
+
+		Object[] frozen = new Object[size];
+		for (int r = 0; r < root.length(); r++) {
+			AtomicReferenceArray<AtomicReferenceArray<Object>> mid = root.get(r);
+			if (mid == null)
+				continue;
+			for (int m = 0; m < mid.length(); m++) {
+				AtomicReferenceArray<Object> leaf = mid.get(m);
+				if (leaf == null)
+					continue;
+				int base = ((r << MID_BITS) + m) << LEAF_BITS;
+				for (int l = 0; l < leaf.length(); l++)
+					frozen[base + l] = leaf.get(l);
+			}
+		}
+		this.frozen = frozen;
+		this.root = null;
+	}
+
+	/**
+	 * Removes all values and unlocks this attribute so that the phase computing
+	 * it can be run again (e.g., by a benchmark compiling the same program many
+	 * times).
+	 */
+	@Override
+	public void clear() {
+		root = new AtomicReferenceArray<AtomicReferenceArray<AtomicReferenceArray<Object>>>(1 << ROOT_BITS);
+		frozen = null;
+	}
+
+	/**
+	 * Returns the child array at the specified index, creating and installing it
+	 * if it does not exist yet.
+	 * 
+	 * @param <Elem>  The elements of the child array.
+	 * @param parent  The parent array.
+	 * @param index   The index of the child array.
+	 * @param numBits The number of bits indexing the child array.
+	 * @return The child array.
+	 */
+	private static <Elem> AtomicReferenceArray<Elem> child(AtomicReferenceArray<AtomicReferenceArray<Elem>> parent,
+			int index, int numBits) {
+		AtomicReferenceArray<Elem> child = parent.get(index);
+		if (child == null) {
+			child = new AtomicReferenceArray<Elem>(1 << numBits);
+			if (!parent.compareAndSet(index, null, child))
+				child = parent.get(index);
+		}
+		return child;
+	}
+
+}
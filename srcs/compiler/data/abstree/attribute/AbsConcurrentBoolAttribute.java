@@ -0,0 +1,75 @@
+/**
+ * @author sliva
+ */
+package compiler.data.abstree.attribute;
+
+import compiler.data.abstree.*;
+
+/**
+ * A boolean attribute of the abstract syntax tree node that can be computed by
+ * many threads at once. Values are stored in an {@link AbsConcurrentAttribute}
+ * (see there for how they are stored and frozen once locked); a node without a
+ * value is associated with {@code false}.
+ * 
+ * @author sliva
+ * 
+ * @param <Node> Nodes that values are associated with.
+ */
+public class AbsConcurrentBoolAttribute<Node extends AbsTree> extends AbsBoolAttribute<Node> {
+
+	/** Values indexed by the identifiers of nodes. */
+	private final AbsConcurrentAttribute<Node, Boolean> values;
+
+	/** Constructs a new attribute. */
+	public AbsConcurrentBoolAttribute() {
+		values = new AbsConcurrentAttribute<Node, Boolean>();
+	}
+
+	/**
+	 * Associates a value with the specified abstract syntax tree node. Can be
+	 * called by many threads at once.
+	 *
+	 * @param node  The specified abstract syntax tree node.
+	 * @param value The value.
+	 * @return The value.
+	 */
+	@Override
+	public boolean put(Node node, boolean value) {
+		values.put(node, value);
+		return value;
+	}
+
+	/**
+	 * Returns a value associated with the specified abstract syntax tree node.
+	 *
+	 * @param node The specified abstract syntax tree node.
+	 * @return The value (or {@code false} if no value has been associated with the
+	 *         specified node).
+	 */
+	@Override
+	public boolean get(Node node) {
+		Boolean value = values.get(node);
+		return (value != null) && value;
+	}
+
+	/**
+	 * Prevents further modification of this attribute and freezes its values.
+	 * Must not be called before all threads computing the attribute have
+	 * finished.
+	 */
+	@Override
+	public void lock() {
+		values.lock();
+	}
+
+	/**
+	 * Removes all values and unlocks this attribute so that the phase computing
+	 * it can be run again (e.g., by a benchmark compiling the same program many
+	 * times).
+	 */
+	@Override
+	public void clear() {
+		values.clear();
+	}
+
+}
@@ -20,19 +20,33 @@ public class DerNode extends DerTree {
 	 * @author sliva
 	 */
 	public enum Nont {
-		Source, Decls, DeclsRest, Decl, ParDeclsEps, ParDecls, ParDeclsRest, ParDecl, BodyEps, Type, CompDecls, CompDeclsRest, CompDecl, Expr,
-		DisjExpr, DisjExprRest, ConjExpr, ConjExprRest, RelExpr, RelExprRest, AddExpr, AddExprRest, MulExpr,
-		MulExprRest, PrefExpr, PstfExpr, PstfExprRest, AtomExpr, CallEps, ArgsEps, Args, ArgsRest, CastEps,
-		WhereEps, Stmts, StmtsRest, Stmt, AssignEps, ElseEps,
+		Source(1), Decls(2), DeclsRest(1), Decl(9), ParDeclsEps(1), ParDecls(2), ParDeclsRest(2), ParDecl(3),
+		BodyEps(2), Type(5), CompDecls(2), CompDeclsRest(2), CompDecl(3), Expr(6), DisjExpr(2), DisjExprRest(3),
+		ConjExpr(2), ConjExprRest(3), RelExpr(2), RelExprRest(2), AddExpr(2), AddExprRest(3), MulExpr(2),
+		MulExprRest(3), PrefExpr(4), PstfExpr(2), PstfExprRest(4), AtomExpr(2), CallEps(3), ArgsEps(2), Args(1),
+		ArgsRest(3), CastEps(2), WhereEps(2), Stmts(2), StmtsRest(1), Stmt(7), AssignEps(2), ElseEps(2);
+
+		/** The maximal number of subtrees of a node representing this nonterminal. */
+		public final int capacity;
+
+		private Nont(int capacity) {
+			this.capacity = capacity;
+		}
 	};
 
 	/** The CFG nonterminal this node represents. */
 	public final Nont label;
 
-	/** A list of subtrees (from left to right, ordered). */
-	private final Vector<DerTree> subtrees;
+	/** An array of subtrees (from left to right, ordered). */
+	private DerTree[] subtrees;
 
-	/** Location of a part of the program represented by this node. */
+	/** The number of subtrees. */
+	private int numSubtrees;
+
+	/**
+	 * Location of a part of the program represented by this node (or {@code null}
+	 * if it has not been computed yet or if the node contains no leaves).
+	 */
 	private Location location;
 
 	/**
@@ -44,7 +58,8 @@ public class DerNode extends DerTree {
 	 */
 	public DerNode(Nont label) {
 		this.label = label;
-		this.subtrees = new Vector<DerTree>();
+		this.subtrees = new DerTree[label.capacity];
+		this.numSubtrees = 0;
 	}
 
 	/**
@@ -54,20 +69,20 @@ public class DerNode extends DerTree {
 	 * @return This node.
 	 */
 	public DerNode add(DerTree subtree) {
-		subtrees.addElement(subtree);
-		Location location = subtree.location();
-		this.location = (this.location == null) ? location
-				: ((location == null) ? this.location : new Location(this.location, location));
+		if (numSubtrees == subtrees.length)
+			subtrees = Arrays.copyOf(subtrees, 2 * subtrees.length + 1);
+		subtrees[numSubtrees++] = subtree;
+		location = null;
 		return this;
 	}
 
 	/**
-	 * Returns the list of subtrees.
+	 * Returns the list of subtrees (a read-only view, not a copy).
 	 * 
 	 * @return The list of subtrees.
 	 */
-	public Vector<DerTree> subtrees() {
-		return new Vector<DerTree>(subtrees);
+	public List<DerTree> subtrees() {
+		return Collections.unmodifiableList(Arrays.asList(subtrees).subList(0, numSubtrees));
 	}
 
 	/**
@@ -77,7 +92,9 @@ public class DerNode extends DerTree {
 	 * @return The specified subtree.
 	 */
 	public DerTree subtree(int index) {
-		return subtrees.elementAt(index);
+		if (index >= numSubtrees)
+			throw new ArrayIndexOutOfBoundsException(index);
+		return subtrees[index];
 	}
 
 	/**
@@ -86,11 +103,28 @@ public class DerNode extends DerTree {
 	 * @return The number of subtrees of this node.
 	 */
 	public int numSubtrees() {
-		return subtrees.size();
+		return numSubtrees;
 	}
 
+	/**
+	 * Returns the location of a part of the program represented by this node, i.e.,
+	 * from the beginning of the first to the end of the last subtree with a
+	 * location. It is computed when it is first needed (and not for every subtree
+	 * added).
+	 * 
+	 * @return The location (or {@code null} if the node contains no leaves).
+	 */
 	@Override
 	public Location location() {
+		if (location == null) {
+			Location beg = null;
+			for (int index = 0; (index < numSubtrees) && (beg == null); index++)
+				beg = subtrees[index].location();
+			Location end = null;
+			for (int index = numSubtrees - 1; (index >= 0) && (end == null); index--)
+				end = subtrees[index].location();
+			location = (beg == end) ? beg : new Location(beg, end);
+		}
 		return location;
 	}
 
@@ -0,0 +1,173 @@
+/**
+ * @author sliva
+ */
+package compiler.data.symbol;
+
+import java.nio.*;
+import java.util.*;
+
+/**
+ * A pool of interned lexemes. Each distinct lexeme is stored only once and is
+ * identified by a dense integer id, so lexemes can be compared by their ids (or
+ * by reference) instead of by their contents. The pool is not thread-safe.
+ * 
+ * @author sliva
+ */
+public class LexemePool {
+
+	/** Lexemes indexed by their ids. */
+	private String[] lexemes = new String[1024];
+
+	/** Hash codes of lexemes indexed by their ids. */
+	private int[] hashes = new int[1024];
+
+	/** The number of lexemes in the pool. */
+	private int size = 0;
+
+	/** Open addressing hash table of lexeme ids (offset by one, 0 is empty). */
+	private int[] table = new int[2048];
+
+	/**
+	 * Returns the number of distinct lexemes in the pool.
+	 * 
+	 * @return The number of distinct lexemes in the pool.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all lexemes from the pool (their ids are reused afterwards).
+	 */
+	public void clear() {
+		lexemes = new String[1024];
+		hashes = new int[1024];
+		size = 0;
+		table = new int[2048];
+	}
+
+	/**
+	 * Returns the lexeme with the specified id.
+	 * 
+	 * @param id The id of the lexeme.
+	 * @return The lexeme.
+	 */
+	public String lexeme(int id) {
+		return lexemes[id];
+	}
+
+	/**
+	 * Interns a lexeme.
+	 * 
+	 * @param lexeme The lexeme.
+	 * @return The id of the lexeme.
+	 */
+	public int intern(String lexeme) {
+		int hash = lexeme.hashCode();
+		int mask = table.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			int id = table[slot] - 1;
+			if (id < 0)
+				return add(slot, hash, lexeme);
+			if (hashes[id] == hash && lexemes[id].equals(lexeme))
+				return id;
+		}
+	}
+
+	/**
+	 * Interns a lexeme given as a part of a character array.
+	 * 
+	 * @param buf The character array.
+	 * @param off The index of the first character of the lexeme.
+	 * @param len The length of the lexeme.
+	 * @return The id of the lexeme.
+	 */
+	public int intern(char[] buf, int off, int len) {
+		int hash = 0;
+		for (int i = off; i < off + len; i++)
+			hash = 31 * hash + buf[i];
+		int mask = table.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			int id = table[slot] - 1;
+			if (id < 0)
+				return add(slot, hash, new String(buf, off, len));
+			if (hashes[id] == hash && matches(lexemes[id], buf, off, len))
+				return id;
+		}
+	}
+
+	/**
+	 * Interns a lexeme given as a part of a buffer of ASCII characters.
+	 * 
+	 * @param buf The buffer of ASCII characters.
+	 * @param off The index of the first character of the lexeme.
+	 * @param len The length of the lexeme.
+	 * @return The id of the lexeme.
+	 */
+	public int intern(ByteBuffer buf, int off, int len) {
+		int hash = 0;
+		for (int i = off; i < off + len; i++)
+			hash = 31 * hash + (buf.get(i) & 0xFF);
+		int mask = table.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			int id = table[slot] - 1;
+			if (id < 0) {
+				char[] chars = new char[len];
+				for (int i = 0; i < len; i++)
+					chars[i] = (char) (buf.get(off + i) & 0xFF);
+				return add(slot, hash, new String(chars));
+			}
+			if (hashes[id] == hash && matches(lexemes[id], buf, off, len))
+				return id;
+		}
+	}
+
+	private static boolean matches(String lexeme, char[] buf, int off, int len) {
+		if (lexeme.length() != len)
+			return false;
+		for (int i = 0; i < len; i++)
+			if (lexeme.charAt(i) != buf[off + i])
+				return false;
+		return true;
+	}
+
+	private static boolean matches(String lexeme, ByteBuffer buf, int off, int len) {
+		if (lexeme.length() != len)
+			return false;
+		for (int i = 0; i < len; i++)
+			if (lexeme.charAt(i) != (buf.get(off + i) & 0xFF))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Adds a new lexeme to the pool.
+	 * 
+	 * @param slot   The empty slot in the hash table the lexeme belongs to.
+	 * @param hash   The hash code of the lexeme.
+	 * @param lexeme The lexeme.
+	 * @return The id of the lexeme.
+	 */
+	private int add(int slot, int hash, String lexeme) {
+		if (size == lexemes.length) {
+			lexemes = Arrays.copyOf(lexemes, 2 * size);
+			hashes = Arrays.copyOf(hashes, 2 * size);
+		}
+		int id = size++;
+		lexemes[id] = lexeme;
+		hashes[id] = hash;
+		table[slot] = id + 1;
+		if (2 * size > table.length) {
+			table = new int[2 * table.length];
+			int mask = table.length - 1;
+			for (int other = 0; other < size; other++) {
+				int otherSlot = hashes[other] & mask;
+				while (table[otherSlot] != 0)
+					otherSlot = (otherSlot + 1) & mask;
+				table[otherSlot] = other + 1;
+			}
+		}
+		return id;
+	}
+
+}
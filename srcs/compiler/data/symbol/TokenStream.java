@@ -0,0 +1,174 @@
+/**
+ * @author sliva
+ */
+package compiler.data.symbol;
+
+import java.util.*;
+
+import compiler.common.report.*;
+
+/**
+ * A compact stream of symbols recognized by a lexer.
+ * 
+ * Symbols are stored in parallel arrays holding tokens, ids of lexemes within a
+ * {@link LexemePool}, and packed locations. Objects of class {@link Symbol} and
+ * {@link Location} are constructed only on demand.
+ * 
+ * @author sliva
+ */
+public class TokenStream {
+
+	/** All tokens (as represented by {@link Symbol.Term}). */
+	private static final Symbol.Term[] terms = Symbol.Term.values();
+
+	/** The pool of lexemes. */
+	private final LexemePool lexemes;
+
+	/** The ordinals of tokens. */
+	private int[] tokens = new int[1024];
+
+	/** The ids of lexemes. */
+	private int[] lexemeIds = new int[1024];
+
+	/** The locations, four integers per symbol. */
+	private int[] locations = new int[4 * 1024];
+
+	/** The number of symbols in the stream. */
+	private int size = 0;
+
+	/**
+	 * Constructs a new empty stream of symbols.
+	 * 
+	 * @param lexemes The pool of lexemes the symbols' lexemes are interned in.
+	 */
+	public TokenStream(LexemePool lexemes) {
+		this.lexemes = lexemes;
+	}
+
+	/**
+	 * Appends a symbol to the stream.
+	 * 
+	 * @param token     The token.
+	 * @param lexemeId  The id of the lexeme.
+	 * @param begLine   The line number of the first character of the symbol.
+	 * @param begColumn The column number of the first character of the symbol.
+	 * @param endLine   The line number of the last character of the symbol.
+	 * @param endColumn The column number of the last character of the symbol.
+	 * @return The index of the symbol within the stream.
+	 */
+	public int add(Symbol.Term token, int lexemeId, int begLine, int begColumn, int endLine, int endColumn) {
+		if (size == tokens.length) {
+			tokens = Arrays.copyOf(tokens, 2 * size);
+			lexemeIds = Arrays.copyOf(lexemeIds, 2 * size);
+			locations = Arrays.copyOf(locations, 8 * size);
+		}
+		tokens[size] = token.ordinal();
+		lexemeIds[size] = lexemeId;
+		locations[4 * size + 0] = begLine;
+		locations[4 * size + 1] = begColumn;
+		locations[4 * size + 2] = endLine;
+		locations[4 * size + 3] = endColumn;
+		return size++;
+	}
+
+	/**
+	 * Returns the number of symbols in the stream.
+	 * 
+	 * @return The number of symbols in the stream.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the token of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The token.
+	 */
+	public Symbol.Term token(int index) {
+		return terms[tokens[index]];
+	}
+
+	/**
+	 * Returns the id of the lexeme of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The id of the lexeme.
+	 */
+	public int lexemeId(int index) {
+		return lexemeIds[index];
+	}
+
+	/**
+	 * Returns the lexeme of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The lexeme.
+	 */
+	public String lexeme(int index) {
+		return lexemes.lexeme(lexemeIds[index]);
+	}
+
+	/**
+	 * Returns the line number of the first character of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The line number of the first character of the symbol.
+	 */
+	public int begLine(int index) {
+		return locations[4 * index + 0];
+	}
+
+	/**
+	 * Returns the column number of the first character of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The column number of the first character of the symbol.
+	 */
+	public int begColumn(int index) {
+		return locations[4 * index + 1];
+	}
+
+	/**
+	 * Returns the line number of the last character of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The line number of the last character of the symbol.
+	 */
+	public int endLine(int index) {
+		return locations[4 * index + 2];
+	}
+
+	/**
+	 * Returns the column number of the last character of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The column number of the last character of the symbol.
+	 */
+	public int endColumn(int index) {
+		return locations[4 * index + 3];
+	}
+
+	/**
+	 * Returns the location of the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The location.
+	 */
+	public Location location(int index) {
+		return new Location(locations[4 * index + 0], locations[4 * index + 1], locations[4 * index + 2],
+				locations[4 * index + 3]);
+	}
+
+	/**
+	 * Constructs the specified symbol.
+	 * 
+	 * @param index The index of the symbol.
+	 * @return The symbol.
+	 */
+	public Symbol symbol(int index) {
+		return new Symbol(token(index), lexeme(index), location(index));
+	}
+
+}
@@ -4,6 +4,7 @@
 package compiler.data.type;
 
 import java.util.*;
+import java.util.concurrent.*;
 import compiler.common.logger.*;
 
 /**
@@ -19,17 +20,56 @@ public class SemArrType extends SemType {
 	/** The type of an array element. */
 	public final SemType elemType;
 
+	/** Array types indexed by the types of their elements and their lengths. */
+	private static final ConcurrentHashMap<SemType, ConcurrentHashMap<Long, SemArrType>> arrTypes = new ConcurrentHashMap<SemType, ConcurrentHashMap<Long, SemArrType>>();
+
 	/**
 	 * Constructs a new array type.
 	 * 
 	 * @param len      The number of elements in an array.
 	 * @param elemType The type of an array element.
 	 */
-	public SemArrType(long len, SemType elemType) {
+	private SemArrType(long len, SemType elemType) {
 		this.len = len;
 		this.elemType = elemType;
 	}
 
+	/**
+	 * Returns the array type of the specified length and element type. Only one
+	 * array type is constructed for each length and type of elements (compared by
+	 * identity), all subsequent calls return the same instance. Can be called by
+	 * many threads at once.
+	 * 
+	 * @param len      The number of elements in an array.
+	 * @param elemType The type of an array element.
+	 * @return The array type.
+	 */
+	public static SemArrType get(long len, SemType elemType) {
+		ConcurrentHashMap<Long, SemArrType> arrTypesOfElem = arrTypes.get(elemType);
+		if (arrTypesOfElem == null) {
+			arrTypesOfElem = new ConcurrentHashMap<Long, SemArrType>();
+			ConcurrentHashMap<Long, SemArrType> otherArrTypesOfElem = arrTypes.putIfAbsent(elemType, arrTypesOfElem);
+			if (otherArrTypesOfElem != null)
+				arrTypesOfElem = otherArrTypesOfElem;
+		}
+		SemArrType arrType = arrTypesOfElem.get(len);
+		if (arrType == null) {
+			arrType = new SemArrType(len, elemType);
+			SemArrType otherArrType = arrTypesOfElem.putIfAbsent(len, arrType);
+			if (otherArrType != null)
+				arrType = otherArrType;
+		}
+		return arrType;
+	}
+
+	/**
+	 * Forgets all array types constructed so far (called when semantic analysis is
+	 * closed so that they do not keep types alive).
+	 */
+	public static void clearArrTypes() {
+		arrTypes.clear();
+	}
+
 	@Override
 	public long size() {
 		return len * elemType.size();
@@ -15,6 +15,15 @@ import compiler.data.type.property.*;
 public class SemBoolType extends SemType
 		implements AssignType, BinEquOperType, BinLogOperType, FunParameterType, FunResultType, UnLogOperType {
 
+	/** The type bool (the only instance of this class). */
+	public static final SemBoolType BOOL = new SemBoolType();
+
+	/**
+	 * Constructs the type bool (see {@link #BOOL}).
+	 */
+	private SemBoolType() {
+	}
+
 	@Override
 	public long size() {
 		return 8;
@@ -15,6 +15,15 @@ import compiler.data.type.property.*;
 public class SemCharType extends SemType implements AssignType, BinArithOperType, BinCompOperType, BinEquOperType,
 		CastOperType, FunParameterType, FunResultType {
 
+	/** The type char (the only instance of this class). */
+	public static final SemCharType CHAR = new SemCharType();
+
+	/**
+	 * Constructs the type char (see {@link #CHAR}).
+	 */
+	private SemCharType() {
+	}
+
 	@Override
 	public long size() {
 		return 8;
@@ -15,6 +15,15 @@ import compiler.data.type.property.*;
 public class SemIntType extends SemType implements AssignType, BinArithOperType, BinCompOperType, BinEquOperType,
 		CastOperType, FunParameterType, FunResultType, UnArithOperType {
 
+	/** The type int (the only instance of this class). */
+	public static final SemIntType INT = new SemIntType();
+
+	/**
+	 * Constructs the type int (see {@link #INT}).
+	 */
+	private SemIntType() {
+	}
+
 	@Override
 	public long size() {
 		return 8;
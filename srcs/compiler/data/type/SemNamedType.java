@@ -20,6 +20,22 @@ public class SemNamedType extends SemType {
 	/** The type this type is a synonym for. */
 	public SemType type;
 
+	/** The actual type of this type (or {@code null} until first needed). */
+	private SemType actualType;
+
+	/** Whether this type is infinite (or {@code null} until first needed). */
+	private Boolean infinite;
+
+	/** The size of this type (valid only if {@link #hasSize} is set). */
+	private long size;
+
+	/**
+	 * Whether the size of this type has already been computed (volatile so that
+	 * a thread seeing it set also sees {@link #size}; the other cached values are
+	 * references that any thread either sees or computes again).
+	 */
+	private volatile boolean hasSize;
+
 	/**
 	 * Constructs a new representation of a type synonym.
 	 * 
@@ -28,6 +44,9 @@ public class SemNamedType extends SemType {
 	public SemNamedType(String name) {
 		this.name = name;
 		this.type = null;
+		this.actualType = null;
+		this.infinite = null;
+		this.hasSize = false;
 	}
 
 	/**
@@ -41,14 +60,33 @@ public class SemNamedType extends SemType {
 		this.type = type;
 	}
 
+	/**
+	 * Returns the size of this type. Once a type synonym is defined, the type it
+	 * is a synonym for never changes, so the size is computed only once.
+	 * 
+	 * @return The size of this type.
+	 */
 	@Override
 	public long size() {
-		return type.size();
+		if (!hasSize) {
+			size = type.size();
+			hasSize = true;
+		}
+		return size;
 	}
 
+	/**
+	 * Returns the actual representation of this type. Once a type synonym is
+	 * defined, the type it is a synonym for never changes, so the chain of
+	 * synonyms is followed only once.
+	 * 
+	 * @return The top-most non-synonym node of this type representation.
+	 */
 	@Override
 	public SemType actualType() {
-		return type.actualType();
+		if (actualType == null)
+			actualType = type.actualType();
+		return actualType;
 	}
 
 	@Override
@@ -56,8 +94,19 @@ public class SemNamedType extends SemType {
 		return this.actualType().matches(that, matched);
 	}
 
+	/**
+	 * Checks whether a type is infinite, i.e., whether a cycle of type synonyms
+	 * not passing through any pointer type can be reached from it. This does not
+	 * depend on the traversal the check is a part of, so the result is computed
+	 * only once.
+	 * 
+	 * @param namedTypes Named types already encountered during the traversal.
+	 * @return {@code true} if the type is infinite, {@code false} otherwise.
+	 */
 	@Override
 	protected boolean isInfinite(HashMap<SemNamedType, SemType.Infinite> namedTypes) {
+		if (infinite != null)
+			return infinite;
 		if (namedTypes.get(this) == null) {
 			namedTypes.put(this, SemType.Infinite.CHECKING);
 			boolean typeIsInfinite = type.isInfinite(namedTypes);
@@ -65,6 +114,7 @@ public class SemNamedType extends SemType {
 				namedTypes.put(this, SemType.Infinite.TRUE);
 			else
 				namedTypes.put(this, SemType.Infinite.FALSE);
+			infinite = typeIsInfinite;
 			return typeIsInfinite;
 		} else {
 			switch (namedTypes.get(this)) {
@@ -4,6 +4,7 @@
 package compiler.data.type;
 
 import java.util.*;
+import java.util.concurrent.*;
 import compiler.common.logger.*;
 import compiler.data.type.property.*;
 
@@ -18,18 +19,56 @@ public class SemPtrType extends SemType
 	/** The type of a data a pointer points to. */
 	public final SemType ptdType;
 
+	/**
+	 * The size of a pointer (of any pointer type, e.g., for laying out frames
+	 * without constructing a pointer type).
+	 */
+	public static final long SIZE = 8;
+
+	/** Pointer types indexed by the types of data they point to. */
+	private static final ConcurrentHashMap<SemType, SemPtrType> ptrTypes = new ConcurrentHashMap<SemType, SemPtrType>();
+
 	/**
 	 * Constructs a new pointer type.
 	 * 
 	 * @param ptdType The type of a data a pointer points to.
 	 */
-	public SemPtrType(SemType ptdType) {
+	private SemPtrType(SemType ptdType) {
 		this.ptdType = ptdType;
 	}
 
+	/**
+	 * Returns the pointer type pointing to data of the specified type. Only one
+	 * pointer type is constructed for each type of data (compared by identity, so
+	 * a pointer to a type synonym and a pointer to the type it is a synonym for
+	 * remain different types), all subsequent calls return the same instance.
+	 * Can be called by many threads at once.
+	 * 
+	 * @param ptdType The type of a data a pointer points to.
+	 * @return The pointer type.
+	 */
+	public static SemPtrType get(SemType ptdType) {
+		SemPtrType ptrType = ptrTypes.get(ptdType);
+		if (ptrType == null) {
+			ptrType = new SemPtrType(ptdType);
+			SemPtrType otherPtrType = ptrTypes.putIfAbsent(ptdType, ptrType);
+			if (otherPtrType != null)
+				ptrType = otherPtrType;
+		}
+		return ptrType;
+	}
+
+	/**
+	 * Forgets all pointer types constructed so far (called when semantic analysis is
+	 * closed so that they do not keep types alive).
+	 */
+	public static void clearPtrTypes() {
+		ptrTypes.clear();
+	}
+
 	@Override
 	public long size() {
-		return 8;
+		return SIZE;
 	}
 
 	@Override
@@ -4,6 +4,7 @@
 package compiler.data.type;
 
 import java.util.*;
+import java.util.concurrent.*;
 import compiler.common.logger.*;
 
 /**
@@ -32,15 +33,58 @@ public abstract class SemType implements Loggable {
 	 */
 	public abstract SemType actualType();
 
+	/**
+	 * Results of type matching queries: for each actual type of an array, pointer
+	 * or record, the results of matching it with other actual types.
+	 * 
+	 * The result of a query depends only on the actual types being matched and,
+	 * as types never change once they have been resolved, neither does the
+	 * result. Type synonyms are skipped before a query is looked up, so all
+	 * synonyms of a type share the results computed for the type itself. Types
+	 * can be matched by many threads at once (see {@code --seman-threads}).
+	 */
+	private static final ConcurrentHashMap<SemType, ConcurrentHashMap<SemType, Boolean>> matchings = new ConcurrentHashMap<SemType, ConcurrentHashMap<SemType, Boolean>>();
+
 	/**
 	 * Checks whether this type matches another type (wrapper for
 	 * {@link matches(SemType, TypeMatching)}).
 	 * 
+	 * A type always matches itself. The result of matching an array, pointer or
+	 * record type is computed only the first time the two types are matched and
+	 * is looked up afterwards.
+	 * 
 	 * @param that A type to be matched.
 	 * @return {@code true} if types match, {@code false} otherwise.
 	 */
 	public final boolean matches(SemType that) {
-		return matches(that, new TypeMatching());
+		SemType actThis = this.actualType();
+		SemType actThat = that.actualType();
+		if (actThis == actThat)
+			return true;
+		if (!((actThis instanceof SemArrType) || (actThis instanceof SemPtrType) || (actThis instanceof SemRecType)))
+			return actThis.matches(actThat, new TypeMatching());
+
+		ConcurrentHashMap<SemType, Boolean> matchingsOfThis = matchings.get(actThis);
+		if (matchingsOfThis == null) {
+			matchingsOfThis = new ConcurrentHashMap<SemType, Boolean>();
+			ConcurrentHashMap<SemType, Boolean> otherMatchingsOfThis = matchings.putIfAbsent(actThis, matchingsOfThis);
+			if (otherMatchingsOfThis != null)
+				matchingsOfThis = otherMatchingsOfThis;
+		}
+		Boolean match = matchingsOfThis.get(actThat);
+		if (match == null) {
+			match = actThis.matches(actThat, new TypeMatching());
+			matchingsOfThis.put(actThat, match);
+		}
+		return match;
+	}
+
+	/**
+	 * Forgets the results of all type matching queries (called when semantic
+	 * analysis is closed so that the results do not keep types alive).
+	 */
+	public static void clearMatchings() {
+		matchings.clear();
 	}
 
 	/**
@@ -57,6 +101,11 @@ public abstract class SemType implements Loggable {
 	 * type matching query. An object of this class contains pairs of types which
 	 * have been assumed matching.
 	 * 
+	 * The pairs are ordered as matching is not symmetric (a pointer to void
+	 * matches any pointer but not the other way around). Hence the result of a
+	 * query does not depend on whether equal types are represented by the same
+	 * object or not (see {@link SemPtrType#get} and {@link SemArrType#get}).
+	 * 
 	 * @author sliva
 	 */
 	protected class TypeMatching {
@@ -76,13 +125,6 @@ public abstract class SemType implements Loggable {
 				matching.put(type1, types1);
 			}
 			types1.add(type2);
-
-			HashSet<SemType> types2 = matching.get(type2);
-			if (types2 == null) {
-				types2 = new HashSet<SemType>();
-				matching.put(type2, types2);
-			}
-			types2.add(type1);
 		}
 
 		/**
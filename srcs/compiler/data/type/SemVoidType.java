@@ -14,6 +14,15 @@ import compiler.data.type.property.*;
  */
 public class SemVoidType extends SemType implements FunResultType {
 
+	/** The type void (the only instance of this class). */
+	public static final SemVoidType VOID = new SemVoidType();
+
+	/**
+	 * Constructs the type void (see {@link #VOID}).
+	 */
+	private SemVoidType() {
+	}
+
 	@Override
 	public long size() {
 		return 0;
@@ -17,14 +17,22 @@ public abstract class Phase implements AutoCloseable {
 	/** The logger used to produce the log of this phase. */
 	public final Logger logger;
 
+	/** Performance statistics of this phase (if collected). */
+	private final PhaseStats stats;
+
 	/**
 	 * Constructs a new phase of a compiler. If logging of this phase has been
 	 * requested, it prepares a logger using the phase name for naming the XML and
-	 * XSL files as well as for the topmost XML element within the XML file.
+	 * XSL files as well as for the topmost XML element within the XML file. The
+	 * kind of the logger is selected by {@code --logger}: the XML document is
+	 * built in memory ({@code dom}, the default), written out incrementally
+	 * ({@code stream}) or written as a binary log ({@code binary}) that must be
+	 * converted into the XML file by {@link compiler.common.logger.LogConverter}.
 	 * 
 	 * @param phaseName The phase name.
 	 */
 	protected Phase(String phaseName) {
+		stats = PhaseStats.begin(phaseName);
 		String loggedPhase = compiler.Main.cmdLineArgValue("--logged-phase");
 		if ((loggedPhase != null) && loggedPhase.matches(phaseName + "|all")) {
 			// Prepare the name of the xml file.
@@ -40,7 +48,14 @@ public abstract class Phase implements AutoCloseable {
 				xslDirName = "";
 			}
 
-			logger = new Logger(phaseName, xmlFileName, xslDirName + phaseName + ".xsl");
+			String loggerKind = compiler.Main.cmdLineArgValue("--logger");
+			if ("stream".equals(loggerKind))
+				logger = new XMLStreamLogger(phaseName, xmlFileName, xslDirName + phaseName + ".xsl");
+			else if ("binary".equals(loggerKind))
+				logger = new BinaryLogger(phaseName, xmlFileName.replaceFirst("\\.xml$", "") + ".bin",
+						xslDirName + phaseName + ".xsl");
+			else
+				logger = new DOMLogger(phaseName, xmlFileName, xslDirName + phaseName + ".xsl");
 		} else {
 			logger = null;
 		}
@@ -50,6 +65,8 @@ public abstract class Phase implements AutoCloseable {
 	public void close() {
 		if (logger != null)
 			logger.close();
+		if (stats != null)
+			stats.end();
 	}
 
 }
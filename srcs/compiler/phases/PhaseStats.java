@@ -0,0 +1,199 @@
+/**
+ * @author sliva
+ */
+package compiler.phases;
+
+import java.lang.management.*;
+import java.util.*;
+
+/**
+ * Performance statistics of compiler phases, collected if {@code --stats} has
+ * been specified.
+ *
+ * For each phase, the wall-clock time, the CPU time and the number of bytes
+ * allocated by the main thread (as reported by {@link ThreadMXBean}), the peak
+ * heap usage, and phase specific counts (e.g., the number of tokens) are
+ * recorded. Work done by other threads (e.g., by {@code --lexan-threads}) is
+ * included in the wall-clock time only. A phase run as a part of another phase
+ * (e.g., lexical analysis run by syntax analysis) is measured from its start to
+ * its end as well (so it includes the work of the enclosing phase done in the
+ * meantime) and reported right after the enclosing phase, but it is not added
+ * to the totals.
+ *
+ * @author sliva
+ */
+public class PhaseStats {
+
+	/** Statistics of all phases measured so far. */
+	private static final Vector<PhaseStats> allStats = new Vector<PhaseStats>();
+
+	/** Statistics of the innermost phase being measured (if any). */
+	private static PhaseStats currStats = null;
+
+	/** The phase name. */
+	public final String phaseName;
+
+	/** Statistics of the enclosing phase (or {@code null} if none). */
+	private final PhaseStats outerStats;
+
+	/** The wall-clock time in nanoseconds. */
+	private long wallTime;
+
+	/** The CPU time in nanoseconds (or -1 if not supported). */
+	private long cpuTime;
+
+	/** The number of allocated bytes (or -1 if not supported). */
+	private long allocBytes;
+
+	/** The peak heap usage in bytes. */
+	private long peakHeap = 0;
+
+	/** Phase specific counts. */
+	private final LinkedHashMap<String, Long> counts = new LinkedHashMap<String, Long>();
+
+	private PhaseStats(String phaseName, PhaseStats outerStats) {
+		this.phaseName = phaseName;
+		this.outerStats = outerStats;
+		if (outerStats == null)
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+				if (pool.getType() == MemoryType.HEAP)
+					pool.resetPeakUsage();
+		this.cpuTime = cpuTime();
+		this.allocBytes = allocBytes();
+		this.wallTime = System.nanoTime();
+	}
+
+	/**
+	 * Starts measuring a phase.
+	 *
+	 * @param phaseName The phase name.
+	 * @return Statistics of the phase or {@code null} if statistics are not
+	 *         collected.
+	 */
+	public static PhaseStats begin(String phaseName) {
+		if (compiler.Main.cmdLineArgValue("--stats") == null)
+			return null;
+		currStats = new PhaseStats(phaseName, currStats);
+		allStats.add(currStats);
+		return currStats;
+	}
+
+	/**
+	 * Stops measuring this phase.
+	 */
+	public void end() {
+		wallTime = System.nanoTime() - wallTime;
+		cpuTime = cpuTime == -1 ? -1 : cpuTime() - cpuTime;
+		allocBytes = allocBytes == -1 ? -1 : allocBytes() - allocBytes;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP)
+				peakHeap += pool.getPeakUsage().getUsed();
+		currStats = outerStats;
+	}
+
+	/**
+	 * Records a count of the most recently measured phase with the specified
+	 * name (if statistics are collected).
+	 *
+	 * @param phaseName The phase name.
+	 * @param name      The name of the count.
+	 * @param count     The count.
+	 */
+	public static void count(String phaseName, String name, long count) {
+		for (int index = allStats.size() - 1; index >= 0; index--) {
+			if (allStats.get(index).phaseName.equals(phaseName)) {
+				allStats.get(index).counts.put(name, count);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns {@code true} if statistics are collected.
+	 *
+	 * @return {@code true} if statistics are collected, {@code false} otherwise.
+	 */
+	public static boolean enabled() {
+		return compiler.Main.cmdLineArgValue("--stats") != null;
+	}
+
+	/**
+	 * Prints out statistics of all phases measured so far as a table or, if
+	 * {@code --stats=json} has been specified, as a JSON document.
+	 */
+	public static void print() {
+		if (!enabled())
+			return;
+		if (compiler.Main.cmdLineArgValue("--stats").equals("json"))
+			printJSON();
+		else
+			printTable();
+	}
+
+	private static void printTable() {
+		System.out.printf("%-10s %10s %10s %12s %12s  %s%n", "phase", "wall[ms]", "cpu[ms]", "alloc[MB]",
+				"peak[MB]", "counts");
+		long wallTime = 0;
+		long cpuTime = 0;
+		long allocBytes = 0;
+		long peakHeap = 0;
+		for (PhaseStats stats : allStats) {
+			StringBuilder counts = new StringBuilder();
+			for (Map.Entry<String, Long> count : stats.counts.entrySet())
+				counts.append(counts.length() == 0 ? "" : " ").append(count.getKey()).append('=')
+						.append(count.getValue());
+			System.out.printf("%-10s %10.2f %10.2f %12.2f %12.2f  %s%n", "  ".repeat(stats.depth()) + stats.phaseName,
+					stats.wallTime / 1e6, stats.cpuTime / 1e6, stats.allocBytes / 1048576.0, stats.peakHeap / 1048576.0,
+					counts);
+			if (stats.outerStats != null)
+				continue;
+			wallTime += stats.wallTime;
+			cpuTime += stats.cpuTime;
+			allocBytes += stats.allocBytes;
+			peakHeap = Math.max(peakHeap, stats.peakHeap);
+		}
+		System.out.printf("%-10s %10.2f %10.2f %12.2f %12.2f%n", "total", wallTime / 1e6, cpuTime / 1e6,
+				allocBytes / 1048576.0, peakHeap / 1048576.0);
+	}
+
+	private static void printJSON() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\"phases\":[");
+		for (PhaseStats stats : allStats) {
+			json.append(stats == allStats.firstElement() ? "" : ",");
+			json.append("{\"phase\":\"").append(stats.phaseName).append('"');
+			if (stats.outerStats != null)
+				json.append(",\"outerPhase\":\"").append(stats.outerStats.phaseName).append('"');
+			json.append(",\"wallNanos\":").append(stats.wallTime);
+			json.append(",\"cpuNanos\":").append(stats.cpuTime);
+			json.append(",\"allocBytes\":").append(stats.allocBytes);
+			json.append(",\"peakHeapBytes\":").append(stats.peakHeap);
+			json.append(",\"counts\":{");
+			boolean first = true;
+			for (Map.Entry<String, Long> count : stats.counts.entrySet()) {
+				json.append(first ? "" : ",").append('"').append(count.getKey()).append("\":").append(count.getValue());
+				first = false;
+			}
+			json.append("}}");
+		}
+		json.append("]}");
+		System.out.println(json);
+	}
+
+	private int depth() {
+		return outerStats == null ? 0 : outerStats.depth() + 1;
+	}
+
+	private static long cpuTime() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+	}
+
+	private static long allocBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		return -1;
+	}
+
+}
@@ -35,13 +35,13 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 				}
 
 				case Decls: {
+					// The list is collected by a loop along the chain of DeclsRest nodes
+					// (and not recursively) so that long lists take linear time and
+					// constant stack space.
 					Vector<AbsDecl> allDecls = new Vector<AbsDecl>();
-					AbsDecl decl = (AbsDecl) node.subtree(0).accept(this, null);
-					allDecls.add(decl);
-					AbsDecls decls = (AbsDecls) node.subtree(1).accept(this, null);
-					if (decls != null)
-						allDecls.addAll(decls.decls());
-					return new AbsDecls(new Location(decl, decls == null ? decl : decls), allDecls);
+					for (DerNode decls = node; decls != null; decls = next((DerNode) decls.subtree(1), 0))
+						allDecls.add((AbsDecl) decls.subtree(0).accept(this, null));
+					return new AbsDecls(new Location(allDecls.firstElement(), allDecls.lastElement()), allDecls);
 				}
 
 				case Decl: {
@@ -65,12 +65,9 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 
 				case ParDecls: {
 					Vector<AbsParDecl> allParDec = new Vector<AbsParDecl>();
-					AbsParDecl parDecl = (AbsParDecl) node.subtree(0).accept(this, null);
-					allParDec.add(parDecl);
-					AbsParDecls parDecls = (AbsParDecls) node.subtree(1).accept(this, null);
-					if (parDecls != null)
-						allParDec.addAll(parDecls.parDecls());
-					return new AbsParDecls(new Location(parDecl, parDecls == null ? parDecl : parDecls), allParDec);
+					for (DerNode parDecls = node; parDecls != null; parDecls = next((DerNode) parDecls.subtree(1), 1))
+						allParDec.add((AbsParDecl) parDecls.subtree(0).accept(this, null));
+					return new AbsParDecls(new Location(allParDec.firstElement(), allParDec.lastElement()), allParDec);
 				}
 
 				case ParDecl: {
@@ -101,12 +98,10 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 
 				case CompDecls: {
 					Vector<AbsCompDecl> allCompDecls = new Vector<AbsCompDecl>();
-					AbsCompDecl compDecl = (AbsCompDecl) node.subtree(0).accept(this, null);
-					allCompDecls.add(compDecl);
-					AbsCompDecls compDecls = (AbsCompDecls) node.subtree(1).accept(this, null);
-					if (compDecls != null)
-						allCompDecls.addAll(compDecls.compDecls());
-					return new AbsCompDecls(new Location(compDecl, compDecls == null ? compDecl : compDecls), allCompDecls);
+					for (DerNode compDecls = node; compDecls != null; compDecls = next((DerNode) compDecls.subtree(1), 1))
+						allCompDecls.add((AbsCompDecl) compDecls.subtree(0).accept(this, null));
+					return new AbsCompDecls(new Location(allCompDecls.firstElement(), allCompDecls.lastElement()),
+							allCompDecls);
 				}
 
 				case CompDecl: {
@@ -388,12 +383,13 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 						return new AbsArgs(new Location(0, 0), new Vector<AbsExpr>());
 					} else {
 						Vector<AbsExpr> allArgs = new Vector<AbsExpr>();
-						AbsExpr arg = (AbsExpr) node.subtree(0).accept(this, null);
-						allArgs.add(arg);
-						AbsArgs args = (AbsArgs) node.subtree(1).accept(this, null);
-						if (args != null)
-							allArgs.addAll(args.args());
-						return new AbsArgs(new Location(arg, args == null ? arg : args), allArgs);
+						allArgs.add((AbsExpr) node.subtree(0).accept(this, null));
+						DerNode argsRest = (DerNode) node.subtree(1);
+						while (argsRest.numSubtrees() != 0) {
+							allArgs.add((AbsExpr) argsRest.subtree(1).accept(this, null));
+							argsRest = (DerNode) argsRest.subtree(2);
+						}
+						return new AbsArgs(new Location(allArgs.firstElement(), allArgs.lastElement()), allArgs);
 					}
 				}
 
@@ -434,12 +430,9 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 
 				case Stmts: {
 					Vector<AbsStmt> allStmts = new Vector<AbsStmt>();
-					AbsStmt stmt = (AbsStmt) node.subtree(0).accept(this, null);
-					allStmts.add(stmt);
-					AbsStmts stmts = (AbsStmts) node.subtree(1).accept(this, null);
-					if (stmts != null)
-						allStmts.addAll(stmts.stmts());
-					return new AbsStmts(new Location(stmt, stmts == null ? stmt : stmts), allStmts);
+					for (DerNode stmts = node; stmts != null; stmts = next((DerNode) stmts.subtree(1), 0))
+						allStmts.add((AbsStmt) stmts.subtree(0).accept(this, null));
+					return new AbsStmts(new Location(allStmts.firstElement(), allStmts.lastElement()), allStmts);
 				}
 
 				case Stmt: {
@@ -571,6 +564,18 @@ public class AbsTreeConstructor implements DerVisitor<AbsTree, AbsTree> {
 		}
 	}
 
+	/**
+	 * Returns the next node in a chain of nodes representing a list, i.e., the
+	 * specified subtree of a node of the list's {@code ...Rest} nonterminal.
+	 * 
+	 * @param rest  The node of the {@code ...Rest} nonterminal.
+	 * @param index The index of the subtree representing the rest of the list.
+	 * @return The next node or {@code null} if the list ends.
+	 */
+	private static DerNode next(DerNode rest, int index) {
+		return rest.numSubtrees() == 0 ? null : (DerNode) rest.subtree(index);
+	}
+
 	private Report.Error createError(DerNode node){
 		return new Report.Error(node, String.format("Error in nonterminal %s",node.label));
 	}
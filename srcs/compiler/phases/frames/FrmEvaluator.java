@@ -35,7 +35,7 @@ public class FrmEvaluator extends AbsFullVisitor<Object, FrmEvaluator.Context> {
 		public int depth = 0;
 		public long locsSize = 0;
 		public long argsSize = 0;
-		public long parsSize = new SemPtrType(new SemVoidType()).size();
+		public long parsSize = SemPtrType.SIZE;
 	}
 
 	/**
@@ -77,7 +77,7 @@ public class FrmEvaluator extends AbsFullVisitor<Object, FrmEvaluator.Context> {
 	public Object visit(AbsFunDef decl, FrmEvaluator.Context visArg){
 		FrmEvaluator.FunContext context = new FrmEvaluator.FunContext();
 		context.depth = ((FunContext) visArg).depth + 1;
-		context.argsSize += new SemPtrType(new SemVoidType()).size();
+		context.argsSize += SemPtrType.SIZE;
 		super.visit(decl, context);
 		//if (context.argsSize > 0){
 		//	context.argsSize += new SemPtrType(new SemVoidType()).size();
@@ -94,7 +94,7 @@ public class FrmEvaluator extends AbsFullVisitor<Object, FrmEvaluator.Context> {
         FunContext context = (FunContext) visArg;
         Label label;
 		label = context.depth == 0 ? new Label(decl.name) : new Label();
-		context.argsSize += new SemPtrType(new SemVoidType()).size();
+		context.argsSize += SemPtrType.SIZE;
 		Frames.frames.put(decl, new Frame(label, ((FunContext) visArg).depth + 1, 0, 0));
         return null;
     }
@@ -130,7 +130,7 @@ public class FrmEvaluator extends AbsFullVisitor<Object, FrmEvaluator.Context> {
 
 	@Override
 	public Object visit(AbsArgs args, Context visArgs){
-		long size = new SemPtrType(new SemVoidType()).size();
+		long size = SemPtrType.SIZE;
 		for (AbsExpr expr : args.args()){
 			expr.accept(this, visArgs);
 			size += SemAn.ofType.get(expr).size();
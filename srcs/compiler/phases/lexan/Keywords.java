@@ -0,0 +1,117 @@
+/**
+ * @author sliva
+ */
+package compiler.phases.lexan;
+
+import compiler.data.symbol.*;
+
+/**
+ * Recognition of PREV keywords and keyword-like constants.
+ * 
+ * The fixed set of keywords is encoded as a trie keyed on the length and the
+ * first character of a word, so a word is recognized by comparing its
+ * characters in place, i.e., without constructing a {@link String}.
+ * 
+ * @author sliva
+ */
+public final class Keywords {
+
+	private Keywords() {
+	}
+
+	/**
+	 * Returns the token of a word.
+	 * 
+	 * @param buf The character array containing the word.
+	 * @param off The index of the first character of the word.
+	 * @param len The length of the word.
+	 * @return The token of the keyword or a constant if the word is a keyword or
+	 *         a keyword-like constant, {@link Symbol.Term#IDENTIFIER} otherwise.
+	 */
+	public static Symbol.Term keyword(char[] buf, int off, int len) {
+		switch (len) {
+		case 2:
+			switch (buf[off]) {
+			case 'd':
+				return match(buf, off, "do", Symbol.Term.DO);
+			case 'i':
+				return match(buf, off, "if", Symbol.Term.IF);
+			}
+			break;
+		case 3:
+			switch (buf[off]) {
+			case 'a':
+				return match(buf, off, "arr", Symbol.Term.ARR);
+			case 'd':
+				return match(buf, off, "del", Symbol.Term.DEL);
+			case 'e':
+				return match(buf, off, "end", Symbol.Term.END);
+			case 'f':
+				return match(buf, off, "fun", Symbol.Term.FUN);
+			case 'i':
+				return match(buf, off, "int", Symbol.Term.INT);
+			case 'n':
+				return match(buf, off, "new", Symbol.Term.NEW);
+			case 'p':
+				return match(buf, off, "ptr", Symbol.Term.PTR);
+			case 'r':
+				return match(buf, off, "rec", Symbol.Term.REC);
+			case 't':
+				return match(buf, off, "typ", Symbol.Term.TYP);
+			case 'v':
+				return match(buf, off, "var", Symbol.Term.VAR);
+			}
+			break;
+		case 4:
+			switch (buf[off]) {
+			case 'b':
+				return match(buf, off, "bool", Symbol.Term.BOOL);
+			case 'c':
+				return match(buf, off, "char", Symbol.Term.CHAR);
+			case 'e':
+				return match(buf, off, "else", Symbol.Term.ELSE);
+			case 'n':
+				if (buf[off + 1] == 'o')
+					return match(buf, off, "none", Symbol.Term.VOIDCONST);
+				return match(buf, off, "null", Symbol.Term.PTRCONST);
+			case 't':
+				if (buf[off + 1] == 'h')
+					return match(buf, off, "then", Symbol.Term.THEN);
+				return match(buf, off, "true", Symbol.Term.BOOLCONST);
+			case 'v':
+				return match(buf, off, "void", Symbol.Term.VOID);
+			}
+			break;
+		case 5:
+			switch (buf[off]) {
+			case 'f':
+				return match(buf, off, "false", Symbol.Term.BOOLCONST);
+			case 'w':
+				if (buf[off + 2] == 'e')
+					return match(buf, off, "where", Symbol.Term.WHERE);
+				return match(buf, off, "while", Symbol.Term.WHILE);
+			}
+			break;
+		}
+		return Symbol.Term.IDENTIFIER;
+	}
+
+	/**
+	 * Compares a word with a keyword of the same length and the same first
+	 * character.
+	 * 
+	 * @param buf     The character array containing the word.
+	 * @param off     The index of the first character of the word.
+	 * @param keyword The keyword.
+	 * @param token   The token of the keyword.
+	 * @return The token of the keyword if the word equals the keyword,
+	 *         {@link Symbol.Term#IDENTIFIER} otherwise.
+	 */
+	private static Symbol.Term match(char[] buf, int off, String keyword, Symbol.Term token) {
+		for (int i = 1; i < keyword.length(); i++)
+			if (buf[off + i] != keyword.charAt(i))
+				return Symbol.Term.IDENTIFIER;
+		return token;
+	}
+
+}
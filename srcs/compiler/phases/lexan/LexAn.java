@@ -4,7 +4,11 @@
 package compiler.phases.lexan;
 
 import java.io.*;
-import java.util.HashMap;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import compiler.common.report.*;
 import compiler.data.symbol.*;
@@ -17,63 +21,100 @@ import compiler.phases.*;
  */
 public class LexAn extends Phase {
 
-	/** The name of the source file. */
-	private final String srcFileName;
+	/** The entire source file (unless the source file is memory mapped). */
+	private final char[] srcBuf;
 
-	/** The source file reader. */
-	private final BufferedReader srcFile;
+	/** The memory mapped source file (if the source file is memory mapped). */
+	private final ByteBuffer srcBytes;
+
+	/** The number of characters in the source file. */
+	private final int srcLen;
+
+	/** The scanner of the entire source file (unless lexing in parallel). */
+	private final Lexer lexer;
+
+	/** All symbols of the source file (if lexing in parallel). */
+	private TokenStream srcTokens = null;
+
+	/** The index of the next symbol within {@link #srcTokens}. */
+	private int srcIndex = 0;
 
 	/**
-	 * Constructs a new phase of lexical analysis.
+	 * The lexical error following the last symbol in {@link #srcTokens} (or the
+	 * lexical error deferred by {@link #lexAll(TokenStream)}).
+	 */
+	private Lexer.LexError srcError = null;
+
+	/** The number of lines preceding the chunk containing {@link #srcError}. */
+	private int srcErrorLineOffset = 0;
+
+	/**
+	 * Constructs a new phase of lexical analysis. The source file is memory mapped
+	 * if {@code --input=mmap} has been specified, and it is lexed by as many
+	 * threads as specified by {@code --lexan-threads}.
 	 */
 	public LexAn() {
+		this(compiler.Main.cmdLineArgValue("--src-file-name"), "mmap".equals(compiler.Main.cmdLineArgValue("--input")),
+				compiler.Main.cmdLineArgValue("--lexan-threads") == null ? 1
+						: Integer.parseInt(compiler.Main.cmdLineArgValue("--lexan-threads")));
+	}
+
+	/**
+	 * Constructs a new phase of lexical analysis of the specified source file.
+	 * 
+	 * @param srcFileName The name of the source file.
+	 * @param mmap        Whether the source file should be memory mapped and
+	 *                    decoded as ASCII instead of being read through a
+	 *                    {@link Reader}.
+	 * @param threads     The number of threads lexing the source file in
+	 *                    parallel (or 1 if the source file should be lexed
+	 *                    sequentially).
+	 */
+	public LexAn(String srcFileName, boolean mmap, int threads) {
 		super("lexan");
-		srcFileName = compiler.Main.cmdLineArgValue("--src-file-name");
 		try {
-			srcFile = new BufferedReader(new FileReader(srcFileName));
-		} catch (IOException ___) {
+			if (mmap) {
+				try (FileChannel srcFile = FileChannel.open(Paths.get(srcFileName), StandardOpenOption.READ)) {
+					if (srcFile.size() > Integer.MAX_VALUE)
+						throw new Report.Error("Source file '" + srcFileName + "' is too large to be mapped.");
+					srcBuf = null;
+					srcBytes = srcFile.map(FileChannel.MapMode.READ_ONLY, 0, srcFile.size());
+					srcLen = (int) srcFile.size();
+				}
+			} else {
+				try (Reader srcFile = new FileReader(srcFileName)) {
+					char[] buf = new char[(int) Math.min(new File(srcFileName).length() + 1, Integer.MAX_VALUE - 8)];
+					int len = 0;
+					int n;
+					while ((n = srcFile.read(buf, len, buf.length - len)) != -1) {
+						len += n;
+						if (len == buf.length)
+							buf = Arrays.copyOf(buf, buf.length * 2);
+					}
+					srcBuf = buf;
+					srcBytes = null;
+					srcLen = len;
+				}
+			}
+		} catch (IOException | InvalidPathException ___) {
 			throw new Report.Error("Cannot open source file '" + srcFileName + "'.");
 		}
-		initialize();
+		if (threads > 1) {
+			lexer = null;
+			lexChunks(threads);
+		} else
+			lexer = new Lexer(srcBuf, srcBytes, 0, srcLen, lexemes);
 	}
 
-    private void initialize(){
-        keywordMap = new HashMap<>();
-        keywordMap.put("arr",Symbol.Term.ARR);
-        keywordMap.put("bool",Symbol.Term.BOOL);
-        keywordMap.put("char",Symbol.Term.CHAR);
-        keywordMap.put("del",Symbol.Term.DEL);
-        keywordMap.put("do",Symbol.Term.DO);
-        keywordMap.put("else",Symbol.Term.ELSE);
-        keywordMap.put("end",Symbol.Term.END);
-        keywordMap.put("fun",Symbol.Term.FUN);
-        keywordMap.put("if",Symbol.Term.IF);
-        keywordMap.put("int",Symbol.Term.INT);
-        keywordMap.put("new",Symbol.Term.NEW);
-        keywordMap.put("ptr",Symbol.Term.PTR);
-        keywordMap.put("rec",Symbol.Term.REC);
-        keywordMap.put("then",Symbol.Term.THEN);
-        keywordMap.put("typ",Symbol.Term.TYP);
-        keywordMap.put("var",Symbol.Term.VAR);
-        keywordMap.put("void",Symbol.Term.VOID);
-        keywordMap.put("where",Symbol.Term.WHERE);
-        keywordMap.put("while",Symbol.Term.WHILE);
-
-        keywordMap.put("none",Symbol.Term.VOIDCONST);
-        keywordMap.put("true",Symbol.Term.BOOLCONST);
-        keywordMap.put("false",Symbol.Term.BOOLCONST);
-        keywordMap.put("null",Symbol.Term.PTRCONST);
-
-        readNextCharacter();
-    }
+	/**
+	 * The pool of all lexemes recognized by lexical analysis (cleared when the
+	 * phase is closed, i.e., once the program has been parsed).
+	 */
+	public static final LexemePool lexemes = new LexemePool();
 
 	@Override
 	public void close() {
-		try {
-			srcFile.close();
-		} catch (IOException ___) {
-			Report.warning("Cannot close source file '" + this.srcFileName + "'.");
-		}
+		lexemes.clear();
 		super.close();
 	}
 
@@ -82,359 +123,242 @@ public class LexAn extends Phase {
 	 * 
 	 * This method returns the next symbol from the source file. To perform the
 	 * lexical analysis of the entire source file, this method must be called until
-	 * it returns EOF. This method calls {@link #lexify()}, logs its result if
+	 * it returns EOF. This method calls {@link Lexer#lexify()}, logs its result if
 	 * requested, and returns it.
 	 * 
 	 * @return The next symbol from the source file or EOF if no symbol is available
 	 *         any more.
 	 */
 	public Symbol lexer() {
-		Symbol symb = lexify();
+		Symbol symb;
+		if (lexer != null) {
+			Symbol.Term token = lexify();
+			symb = new Symbol(token, lexemes.lexeme(lexer.lexemeId), lexer.location());
+		} else
+			symb = srcTokens.symbol(nextSrcIndex());
 		if (symb.token != Symbol.Term.EOF)
 			symb.log(logger);
 		return symb;
 	}
 
-	private HashMap<String, Symbol.Term> keywordMap;
-    private int character = -1;
-    private String lexeme;
+	/**
+	 * The lexer producing a compact stream of symbols.
+	 * 
+	 * This method appends the next symbol from the source file to the stream of
+	 * symbols. Unlike {@link #lexer()}, it constructs an object of class
+	 * {@link Symbol} only if the symbol must be logged.
+	 * 
+	 * @param tokens The stream of symbols.
+	 * @return The token of the next symbol from the source file or EOF if no
+	 *         symbol is available any more.
+	 */
+	public Symbol.Term lexer(TokenStream tokens) {
+		int index;
+		if (lexer != null) {
+			Symbol.Term token = lexify();
+			index = tokens.add(token, lexer.lexemeId, lexer.startRowLocation, lexer.startColumnLocation,
+					lexer.endRowLocation, lexer.endColumnLocation);
+		} else {
+			int srcIndex = nextSrcIndex();
+			index = tokens.add(srcTokens.token(srcIndex), srcTokens.lexemeId(srcIndex), srcTokens.begLine(srcIndex),
+					srcTokens.begColumn(srcIndex), srcTokens.endLine(srcIndex), srcTokens.endColumn(srcIndex));
+		}
+		Symbol.Term token = tokens.token(index);
+		if ((logger != null) && (token != Symbol.Term.EOF))
+			tokens.symbol(index).log(logger);
+		return token;
+	}
 
-    private int rowLocation = 1;
-    private int columnLocation = 0;
-    private int startRowLocation = 1;
-    private int startColumnLocation = 1;
-    private int endRowLocation = 1;
-    private int endColumnLocation = 1;
 	/**
-	 * Performs the lexical analysis of the source file.
+	 * The lexer producing the entire compact stream of symbols at once.
 	 * 
-	 * This method returns the next symbol from the source file. To perform the
-	 * lexical analysis of the entire source file, this method must be called until
-	 * it returns EOF.
+	 * This method appends all remaining symbols of the source file (including EOF)
+	 * to the stream of symbols as if {@link #lexer(TokenStream)} were called until
+	 * it returns EOF. A lexical error, however, is not reported immediately but by
+	 * the next call of {@link #lexer(TokenStream)}, i.e., not before all symbols
+	 * preceding the error have been consumed.
 	 * 
-	 * @return The next symbol from the source file or EOF if no symbol is available
-	 *         any more.
+	 * @param tokens The stream of symbols.
+	 * @return {@code true} if all symbols have been appended, {@code false} if a
+	 *         lexical error has been encountered.
+	 */
+	public boolean lexAll(TokenStream tokens) {
+		while (true) {
+			int index;
+			if (lexer != null) {
+				if (srcError != null)
+					return false;
+				Symbol.Term token;
+				try {
+					token = lexer.lexify();
+				} catch (Lexer.LexError error) {
+					srcError = error;
+					return false;
+				}
+				index = tokens.add(token, lexer.lexemeId, lexer.startRowLocation, lexer.startColumnLocation,
+						lexer.endRowLocation, lexer.endColumnLocation);
+			} else {
+				if (srcIndex == srcTokens.size())
+					return srcError == null;
+				int srcIndex = this.srcIndex++;
+				index = tokens.add(srcTokens.token(srcIndex), srcTokens.lexemeId(srcIndex), srcTokens.begLine(srcIndex),
+						srcTokens.begColumn(srcIndex), srcTokens.endLine(srcIndex), srcTokens.endColumn(srcIndex));
+			}
+			Symbol.Term token = tokens.token(index);
+			if (token == Symbol.Term.EOF)
+				return true;
+			if (logger != null)
+				tokens.symbol(index).log(logger);
+		}
+	}
+
+	/**
+	 * Scans the next symbol of the source file (unless lexing in parallel).
+	 * 
+	 * @return The token of the next symbol.
 	 */
-	private Symbol lexify() {
-	    if (character == -1){
-	        return new Symbol(Symbol.Term.EOF, "EOF", getLocation());
-        }
-
-        String ch = (char) character + "";
-	    lexeme = "";
-	    startRowLocation = rowLocation;
-	    startColumnLocation = columnLocation;
-
-	    if (ch.equals("#")){
-	        return readComment();
-        } else if (ch.equals("'")){
-	        return readCharConstant();
-        } else if (ch.equals("\"")){
-	        return readStringConstant();
-        } else if ('0'<=ch.charAt(0) && ch.charAt(0)<='9'){
-	        return readIntConstant();
-        } else if (('A'<=ch.charAt(0) && ch.charAt(0)<='Z') ||
-                ('a'<=ch.charAt(0) && ch.charAt(0)<='z') || ch.charAt(0)=='_') {
-	        return readReservedWord();
-        } else if (ch.equals(" ") || ch.equals("\n") || ch.equals("\t") || ch.equals("\r")){
-	        readNextCharacter();
-	        if(character == -1){
-	            return new Symbol(Symbol.Term.EOF,"EOF", getLocation());
-            }
-	        ch = (char) character + "";
-	        while (ch.equals(" ") || ch.equals("\n") || ch.equals("\t") || ch.equals("\r")){
-	            readNextCharacter();
-                if(character == -1){
-                    return new Symbol(Symbol.Term.EOF,"EOF", getLocation());
-                }
-                ch = (char) character + "";
-            }
-            return lexify();
-        } else {
-            return getOtherSymbol(ch);
-        }
+	private Symbol.Term lexify() {
+		if (srcError != null)
+			throw srcError.report(srcErrorLineOffset);
+		try {
+			return lexer.lexify();
+		} catch (Lexer.LexError error) {
+			throw error.report(0);
+		}
+	}
+
+	/**
+	 * Returns the index of the next symbol within {@link #srcTokens} (if lexing in
+	 * parallel).
+	 * 
+	 * @return The index of the next symbol.
+	 */
+	private int nextSrcIndex() {
+		if (srcIndex < srcTokens.size())
+			return srcIndex++;
+		if (srcError != null)
+			throw srcError.report(srcErrorLineOffset);
+		return srcIndex - 1;
+	}
+
+	/** The minimal number of characters lexed by a single thread. */
+	private static final int MIN_CHUNK_SIZE = 4096;
+
+	/**
+	 * Lexes the entire source file in parallel and stores all its symbols in
+	 * {@link #srcTokens}.
+	 * 
+	 * The source file is split into chunks that start at the beginning of a line
+	 * with a non-whitespace character. In PREV, neither comments nor string and
+	 * character constants can contain a newline, so each chunk starts at the
+	 * beginning of a symbol, comment or whitespace exactly as if lexed
+	 * sequentially. The chunks are lexed with their own lexeme pools on a
+	 * {@link ForkJoinPool} and then concatenated in order, with lines offset by
+	 * the number of lines in the preceding chunks and lexemes reinterned in
+	 * {@link #lexemes}. Lexemes are reinterned in the order they appear in the
+	 * source file so that their ids are the same as if lexed sequentially. The
+	 * first lexical error (if any) is deferred until all preceding symbols have
+	 * been consumed.
+	 * 
+	 * @param threads The number of threads.
+	 */
+	private void lexChunks(int threads) {
+		Vector<Integer> chunkBegs = new Vector<Integer>();
+		chunkBegs.add(0);
+		int chunkSize = Math.max(srcLen / (4 * threads), MIN_CHUNK_SIZE);
+		for (int pos = chunkSize; pos < srcLen; pos += chunkSize) {
+			while ((pos < srcLen) && !((charAt(pos - 1) == '\n') && !isWhitespace(charAt(pos))))
+				pos++;
+			if (pos == srcLen)
+				break;
+			chunkBegs.add(pos);
+		}
+		chunkBegs.add(srcLen);
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			Vector<ForkJoinTask<Chunk>> chunks = new Vector<ForkJoinTask<Chunk>>();
+			for (int chunk = 0; chunk < chunkBegs.size() - 1; chunk++) {
+				int chunkBeg = chunkBegs.get(chunk);
+				int chunkEnd = chunkBegs.get(chunk + 1);
+				chunks.add(pool.submit(() -> new Chunk(chunkBeg, chunkEnd)));
+			}
+
+			srcTokens = new TokenStream(lexemes);
+			int lineOffset = 0;
+			for (int chunk = 0; chunk < chunks.size(); chunk++) {
+				Chunk chunkResult = chunks.get(chunk).join();
+				TokenStream tokens = chunkResult.tokens;
+				int[] lexemeIds = new int[chunkResult.lexemes.size()];
+				Arrays.fill(lexemeIds, -1);
+				for (int index = 0; index < tokens.size(); index++) {
+					if ((tokens.token(index) == Symbol.Term.EOF) && (chunk < chunks.size() - 1))
+						break;
+					int lexemeId = tokens.lexemeId(index);
+					if (lexemeIds[lexemeId] == -1)
+						lexemeIds[lexemeId] = lexemes.intern(chunkResult.lexemes.lexeme(lexemeId));
+					srcTokens.add(tokens.token(index), lexemeIds[lexemeId], tokens.begLine(index) + lineOffset,
+							tokens.begColumn(index), tokens.endLine(index) + lineOffset, tokens.endColumn(index));
+				}
+				if (chunkResult.error != null) {
+					srcError = chunkResult.error;
+					srcErrorLineOffset = lineOffset;
+					break;
+				}
+				lineOffset += chunkResult.lines;
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * The result of lexing a single chunk of the source file.
+	 */
+	private final class Chunk {
+
+		/** The pool of lexemes of this chunk. */
+		final LexemePool lexemes = new LexemePool();
+
+		/** The symbols of this chunk (including EOF unless an error occurred). */
+		final TokenStream tokens = new TokenStream(lexemes);
+
+		/** The number of lines of this chunk. */
+		final int lines;
+
+		/** The lexical error found in this chunk (if any). */
+		Lexer.LexError error = null;
+
+		/**
+		 * Lexes a single chunk of the source file.
+		 * 
+		 * @param chunkBeg The index of the first character of the chunk.
+		 * @param chunkEnd The index of the character following the chunk.
+		 */
+		Chunk(int chunkBeg, int chunkEnd) {
+			Lexer lexer = new Lexer(srcBuf, srcBytes == null ? null : srcBytes.duplicate(), chunkBeg, chunkEnd,
+					lexemes);
+			try {
+				Symbol.Term token;
+				do {
+					token = lexer.lexify();
+					tokens.add(token, lexer.lexemeId, lexer.startRowLocation, lexer.startColumnLocation,
+							lexer.endRowLocation, lexer.endColumnLocation);
+				} while (token != Symbol.Term.EOF);
+			} catch (Lexer.LexError error) {
+				this.error = error;
+			}
+			lines = lexer.lines();
+		}
+
+	}
+
+	private int charAt(int pos) {
+		return srcBuf != null ? srcBuf[pos] : srcBytes.get(pos) & 0xFF;
+	}
+
+	private static boolean isWhitespace(int character) {
+		return character == ' ' || character == '\n' || character == '\t' || character == '\r';
 	}
 
-    // Lexeme Construction Methods
-
-    private Symbol readComment(){
-	    String ch = (char) character + "";
-	    while (!ch.equals("\n")){
-	        readNextCharacter();
-	        if(character == -1){
-                return new Symbol(Symbol.Term.EOF, "EOF", getLocation());
-            }
-            ch = (char) character + "";
-        }
-        readNextCharacter();
-	    return lexify();
-    }
-
-    private Symbol readCharConstant(){
-        String ch = (char) character + "";
-        lexeme += ch;
-        readNextCharacter();
-        if (character>=32 && character<=126){
-            lexeme += (char) character;
-            readNextCharacter();
-        } else {
-            throw throwError("Char not valid");
-        }
-        if(character == -1){
-            throw throwError("Char not closed");
-        }
-        ch = (char) character + "";
-        if (ch.equals("'")){
-            lexeme += (char) character;
-            readNextCharacter();
-        } else {
-            throw throwError("Char not valid, should be '.");
-        }
-	    return new Symbol(Symbol.Term.CHARCONST, lexeme, getLocation());
-    }
-
-    private Symbol readStringConstant(){
-        String ch = (char) character + "";
-        lexeme += ch;
-        readNextCharacter();
-        while (character>=32 && character<=126 && character!=34){
-            lexeme += (char) character;
-            readNextCharacter();
-        }
-        if(character==34){
-            lexeme += (char) character;
-            readNextCharacter();
-            return new Symbol(Symbol.Term.STRCONST, lexeme, getLocation());
-        } else if (character==10 || character==13 || character==-1){
-            throw throwError("String not closed.");
-        } else {
-            startColumnLocation = columnLocation;
-            endColumnLocation = columnLocation;
-            throw throwError("Invalid character.");
-        }
-    }
-
-    private Symbol readIntConstant(){
-	    lexeme += (char) character;
-	    readNextCharacter();
-        if (character == -1){
-            return new Symbol(Symbol.Term.INTCONST, lexeme, getLocation());
-        }
-	    char ch = (char) character;
-	    while ('0'<=ch && ch<='9'){
-	        lexeme += ch;
-	        readNextCharacter();
-            if (character == -1){
-                return new Symbol(Symbol.Term.INTCONST, lexeme, getLocation());
-            }
-	        ch = (char) character;
-        }
-        return new Symbol(Symbol.Term.INTCONST, lexeme, getLocation());
-    }
-
-    private Symbol readReservedWord(){
-        lexeme += (char) character;
-        readNextCharacter();
-        if (character == -1){
-            return new Symbol(keywordMap.getOrDefault(lexeme, Symbol.Term.IDENTIFIER), lexeme, getLocation());
-        }
-        char ch = (char) character;
-        while (('A'<=ch && ch<='Z') || ('a'<=ch && ch<='z') ||
-                ('0'<=ch && ch<='9') || ch=='_'){
-            lexeme += ch;
-            readNextCharacter();
-            if (character == -1){
-                return new Symbol(keywordMap.getOrDefault(lexeme, Symbol.Term.IDENTIFIER), lexeme, getLocation());
-            }
-            ch = (char) character;
-        }
-
-        return new Symbol(keywordMap.getOrDefault(lexeme, Symbol.Term.IDENTIFIER), lexeme, getLocation());
-    }
-
-    private Symbol getOtherSymbol(String ch) {
-        lexeme += ch;
-        switch (ch){
-            case "!":{
-                readNextCharacter();
-                if (character == -1){
-                    return new Symbol(Symbol.Term.NOT, lexeme, getLocation());
-                }
-                ch = (char) character + "";
-                if (ch.equals("=")){
-                    lexeme += ch;
-                    readNextCharacter();
-                    return new Symbol(Symbol.Term.NEQ, lexeme, getLocation());
-                } else {
-                    return new Symbol(Symbol.Term.NOT, lexeme, getLocation());
-                }
-            }
-            case "|":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.IOR, lexeme, getLocation());
-            }
-            case "^":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.XOR, lexeme, getLocation());
-            }
-            case "&":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.AND, lexeme, getLocation());
-            }
-            case "=":{
-                readNextCharacter();
-                if (character == -1){
-                    return new Symbol(Symbol.Term.ASSIGN, lexeme, getLocation());
-                }
-                ch = (char) character + "";
-                if (ch.equals("=")){
-                    lexeme += ch;
-                    readNextCharacter();
-                    return new Symbol(Symbol.Term.EQU, lexeme, getLocation());
-                } else {
-                    return new Symbol(Symbol.Term.ASSIGN, lexeme, getLocation());
-                }
-            }
-            case "<":{
-                readNextCharacter();
-                if (character == -1){
-                    return new Symbol(Symbol.Term.LTH, lexeme, getLocation());
-                }
-                ch = (char) character + "";
-                if (ch.equals("=")){
-                    lexeme += ch;
-                    readNextCharacter();
-                    return new Symbol(Symbol.Term.LEQ, lexeme, getLocation());
-                } else {
-                    return new Symbol(Symbol.Term.LTH, lexeme, getLocation());
-                }
-            }
-            case ">":{
-                readNextCharacter();
-                if (character == -1){
-                    return new Symbol(Symbol.Term.GTH, lexeme, getLocation());
-                }
-                ch = (char) character + "";
-                if (ch.equals("=")){
-                    lexeme += ch;
-                    readNextCharacter();
-                    return new Symbol(Symbol.Term.GEQ, lexeme, getLocation());
-                } else {
-                    return new Symbol(Symbol.Term.GTH, lexeme, getLocation());
-                }
-            }
-            case "+":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.ADD, lexeme, getLocation());
-            }
-            case "-":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.SUB, lexeme, getLocation());
-            }
-            case "*":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.MUL, lexeme, getLocation());
-            }
-            case "/":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.DIV, lexeme, getLocation());
-            }
-            case "%":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.MOD, lexeme, getLocation());
-            }
-            case "$":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.ADDR, lexeme, getLocation());
-            }
-            case "@":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.DATA, lexeme, getLocation());
-            }
-            case ".":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.DOT, lexeme, getLocation());
-            }
-            case ",":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.COMMA, lexeme, getLocation());
-            }
-            case ":":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.COLON, lexeme, getLocation());
-            }
-            case ";":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.SEMIC, lexeme, getLocation());
-            }
-            case "[":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.LBRACKET, lexeme, getLocation());
-            }
-            case "]":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.RBRACKET, lexeme, getLocation());
-            }
-            case "(":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.LPARENTHESIS, lexeme, getLocation());
-            }
-            case ")":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.RPARENTHESIS, lexeme, getLocation());
-            }
-            case "{":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.LBRACE, lexeme, getLocation());
-            }
-            case "}":{
-                readNextCharacter();
-                return new Symbol(Symbol.Term.RBRACE, lexeme, getLocation());
-            }
-            default:
-                endColumnLocation++;
-                throw throwError("Invalid character.");
-        }
-    }
-
-
-    // Helper Methods
-
-    private void readNextCharacter(){
-	    try {
-	        character = srcFile.read();
-	        updateLocation();
-        } catch (Exception e){
-	        e.printStackTrace();
-        }
-    }
-
-    private void updateLocation(){
-	    endRowLocation = rowLocation;
-	    endColumnLocation = columnLocation;
-	    if (character == -1){
-	        columnLocation ++;
-	        return;
-        }
-        String chr = (char) character + "";
-        switch (chr) {
-            case "\n":
-                rowLocation += 1;
-                columnLocation = 0;
-                break;
-            case "\t":
-                columnLocation += 8;
-                break;
-            default:
-                columnLocation++;
-        }
-    }
-
-    private Locatable getLocation(){
-	    return new Location(startRowLocation, startColumnLocation, endRowLocation, endColumnLocation);
-    }
-
-    private Report.Error throwError(String message){
-        return new Report.Error(getLocation(), String.format("[LexAn]: %s", message));
-    }
 }
@@ -0,0 +1,428 @@
+/**
+ * @author sliva
+ */
+package compiler.phases.lexan;
+
+import java.nio.*;
+
+import compiler.common.report.*;
+import compiler.data.symbol.*;
+
+/**
+ * A scanner of a part of the source file that starts at the beginning of a
+ * line.
+ * 
+ * Lines are counted from 1 at the beginning of the part being scanned. The
+ * scanner does not report lexical errors itself but throws {@link LexError}
+ * instead, so that lexical errors found in parts of the source file scanned in
+ * parallel can be reported in the same order as by the sequential scanner.
+ * 
+ * @author sliva
+ */
+final class Lexer {
+
+	/**
+	 * A lexical error that has not been reported yet.
+	 */
+	@SuppressWarnings("serial")
+	static final class LexError extends RuntimeException {
+
+		private final int begLine;
+		private final int begColumn;
+		private final int endLine;
+		private final int endColumn;
+
+		/**
+		 * Constructs a new lexical error.
+		 * 
+		 * @param begLine   The line of the first character of the error.
+		 * @param begColumn The column of the first character of the error.
+		 * @param endLine   The line of the last character of the error.
+		 * @param endColumn The column of the last character of the error.
+		 * @param message   The error message.
+		 */
+		LexError(int begLine, int begColumn, int endLine, int endColumn, String message) {
+			super(message, null, false, false);
+			this.begLine = begLine;
+			this.begColumn = begColumn;
+			this.endLine = endLine;
+			this.endColumn = endColumn;
+		}
+
+		/**
+		 * Reports this error.
+		 * 
+		 * @param lineOffset The number of lines preceding the scanned part of the
+		 *                   source file.
+		 * @return The reported error.
+		 */
+		Report.Error report(int lineOffset) {
+			return new Report.Error(new Location(begLine + lineOffset, begColumn, endLine + lineOffset, endColumn),
+					getMessage());
+		}
+
+	}
+
+	/** The entire source file (unless the source file is memory mapped). */
+	private final char[] srcBuf;
+
+	/** The memory mapped source file (if the source file is memory mapped). */
+	private final ByteBuffer srcBytes;
+
+	/** The index of the character following the scanned part of the source file. */
+	private final int srcEnd;
+
+	/** The pool the lexemes are interned in. */
+	final LexemePool lexemes;
+
+	/**
+	 * Constructs a new scanner of a part of the source file.
+	 * 
+	 * @param srcBuf   The entire source file (or {@code null} if the source file
+	 *                 is memory mapped).
+	 * @param srcBytes The memory mapped source file (or {@code null} if the source
+	 *                 file is not memory mapped).
+	 * @param srcBeg   The index of the first character of the scanned part of the
+	 *                 source file.
+	 * @param srcEnd   The index of the character following the scanned part of
+	 *                 the source file.
+	 * @param lexemes  The pool the lexemes are interned in.
+	 */
+	Lexer(char[] srcBuf, ByteBuffer srcBytes, int srcBeg, int srcEnd, LexemePool lexemes) {
+		this.srcBuf = srcBuf;
+		this.srcBytes = srcBytes;
+		this.srcEnd = srcEnd;
+		this.lexemes = lexemes;
+		this.srcPos = srcBeg;
+		readNextCharacter();
+	}
+
+	/**
+	 * Returns the location of the current symbol.
+	 * 
+	 * @return The location of the current symbol.
+	 */
+	Location location() {
+		return getLocation();
+	}
+
+	/**
+	 * Returns the number of lines scanned so far.
+	 * 
+	 * @return The number of lines scanned so far.
+	 */
+	int lines() {
+		return rowLocation - 1;
+	}
+
+    private int character = -1;
+
+    /** The index of the character following {@link #character} within the source file. */
+    private int srcPos;
+
+    /** The index of the first character of the current lexeme within the source file. */
+    private int lexemeBeg;
+
+    /** The characters of the current word (if the source file is memory mapped). */
+    private char[] wordBuf = new char[64];
+
+    /** The id of the current lexeme within {@link #lexemes}. */
+    int lexemeId;
+
+    private int rowLocation = 1;
+    private int columnLocation = 0;
+    int startRowLocation = 1;
+    int startColumnLocation = 1;
+    int endRowLocation = 1;
+    int endColumnLocation = 1;
+	/**
+	 * Performs the lexical analysis of the source file.
+	 * 
+	 * This method returns the next symbol from the source file. To perform the
+	 * lexical analysis of the entire source file, this method must be called until
+	 * it returns EOF.
+	 * 
+	 * @return The token of the next symbol from the source file or EOF if no
+	 *         symbol is available any more; the lexeme is stored in
+	 *         {@link #lexemeId}.
+	 * @throws LexError If the source file contains a lexical error.
+	 */
+	Symbol.Term lexify() {
+		while (true) {
+			if (character == -1) {
+				return readEOF();
+			}
+
+			lexemeBeg = srcPos - 1;
+			startRowLocation = rowLocation;
+			startColumnLocation = columnLocation;
+
+			switch (character) {
+			case '#':
+				if (!skipComment())
+					return readEOF();
+				continue;
+			case ' ':
+			case '\n':
+			case '\t':
+			case '\r':
+				if (!skipWhitespace())
+					return readEOF();
+				continue;
+			case '\'':
+				return readCharConstant();
+			case '"':
+				return readStringConstant();
+			default:
+				if ('0' <= character && character <= '9')
+					return readIntConstant();
+				if (('A' <= character && character <= 'Z') || ('a' <= character && character <= 'z')
+						|| character == '_')
+					return readReservedWord();
+				return getOtherSymbol();
+			}
+		}
+	}
+
+    // Lexeme Construction Methods
+
+	/**
+	 * Skips a comment including the terminating newline.
+	 * 
+	 * @return {@code false} if the end of the source file has been reached within
+	 *         the comment, {@code true} otherwise.
+	 */
+	private boolean skipComment() {
+		while (character != '\n') {
+			readNextCharacter();
+			if (character == -1)
+				return false;
+		}
+		readNextCharacter();
+		return true;
+	}
+
+	/**
+	 * Skips a nonempty sequence of whitespace characters.
+	 * 
+	 * @return {@code false} if the end of the source file has been reached,
+	 *         {@code true} otherwise.
+	 */
+	private boolean skipWhitespace() {
+		do {
+			readNextCharacter();
+			if (character == -1)
+				return false;
+		} while (character == ' ' || character == '\n' || character == '\t' || character == '\r');
+		return true;
+	}
+
+	private Symbol.Term readCharConstant() {
+		readNextCharacter();
+		if (character >= 32 && character <= 126) {
+			readNextCharacter();
+		} else {
+			throw throwError("Char not valid");
+		}
+		if (character == -1) {
+			throw throwError("Char not closed");
+		}
+		if (character == '\'') {
+			readNextCharacter();
+		} else {
+			throw throwError("Char not valid, should be '.");
+		}
+		return newSymbol(Symbol.Term.CHARCONST);
+	}
+
+	private Symbol.Term readStringConstant() {
+		readNextCharacter();
+		while (character >= 32 && character <= 126 && character != '"') {
+			readNextCharacter();
+		}
+		if (character == '"') {
+			readNextCharacter();
+			return newSymbol(Symbol.Term.STRCONST);
+		} else if (character == '\n' || character == '\r' || character == -1) {
+			throw throwError("String not closed.");
+		} else {
+			startColumnLocation = columnLocation;
+			endColumnLocation = columnLocation;
+			throw throwError("Invalid character.");
+		}
+	}
+
+	private Symbol.Term readIntConstant() {
+		do {
+			readNextCharacter();
+		} while ('0' <= character && character <= '9');
+		return newSymbol(Symbol.Term.INTCONST);
+	}
+
+	private Symbol.Term readReservedWord() {
+		do {
+			readNextCharacter();
+		} while (('A' <= character && character <= 'Z') || ('a' <= character && character <= 'z')
+				|| ('0' <= character && character <= '9') || character == '_');
+		int wordLen = Math.min(srcPos - 1, srcEnd) - lexemeBeg;
+		if (srcBuf != null) {
+			lexemeId = lexemes.intern(srcBuf, lexemeBeg, wordLen);
+			return Keywords.keyword(srcBuf, lexemeBeg, wordLen);
+		}
+		if (wordBuf.length < wordLen)
+			wordBuf = new char[2 * wordLen];
+		for (int i = 0; i < wordLen; i++)
+			wordBuf[i] = (char) (srcBytes.get(lexemeBeg + i) & 0xFF);
+		lexemeId = lexemes.intern(wordBuf, 0, wordLen);
+		return Keywords.keyword(wordBuf, 0, wordLen);
+	}
+
+	private Symbol.Term getOtherSymbol() {
+		switch (character) {
+		case '!':
+			return readOneOrTwo(Symbol.Term.NOT, "!", Symbol.Term.NEQ, "!=");
+		case '=':
+			return readOneOrTwo(Symbol.Term.ASSIGN, "=", Symbol.Term.EQU, "==");
+		case '<':
+			return readOneOrTwo(Symbol.Term.LTH, "<", Symbol.Term.LEQ, "<=");
+		case '>':
+			return readOneOrTwo(Symbol.Term.GTH, ">", Symbol.Term.GEQ, ">=");
+		case '|':
+			return readOne(Symbol.Term.IOR, "|");
+		case '^':
+			return readOne(Symbol.Term.XOR, "^");
+		case '&':
+			return readOne(Symbol.Term.AND, "&");
+		case '+':
+			return readOne(Symbol.Term.ADD, "+");
+		case '-':
+			return readOne(Symbol.Term.SUB, "-");
+		case '*':
+			return readOne(Symbol.Term.MUL, "*");
+		case '/':
+			return readOne(Symbol.Term.DIV, "/");
+		case '%':
+			return readOne(Symbol.Term.MOD, "%");
+		case '$':
+			return readOne(Symbol.Term.ADDR, "$");
+		case '@':
+			return readOne(Symbol.Term.DATA, "@");
+		case '.':
+			return readOne(Symbol.Term.DOT, ".");
+		case ',':
+			return readOne(Symbol.Term.COMMA, ",");
+		case ':':
+			return readOne(Symbol.Term.COLON, ":");
+		case ';':
+			return readOne(Symbol.Term.SEMIC, ";");
+		case '[':
+			return readOne(Symbol.Term.LBRACKET, "[");
+		case ']':
+			return readOne(Symbol.Term.RBRACKET, "]");
+		case '(':
+			return readOne(Symbol.Term.LPARENTHESIS, "(");
+		case ')':
+			return readOne(Symbol.Term.RPARENTHESIS, ")");
+		case '{':
+			return readOne(Symbol.Term.LBRACE, "{");
+		case '}':
+			return readOne(Symbol.Term.RBRACE, "}");
+		default:
+			endColumnLocation++;
+			throw throwError("Invalid character.");
+		}
+	}
+
+	/**
+	 * Consumes a single-character symbol.
+	 * 
+	 * @param token  The token.
+	 * @param lexeme The lexeme.
+	 * @return The token.
+	 */
+	private Symbol.Term readOne(Symbol.Term token, String lexeme) {
+		readNextCharacter();
+		lexemeId = lexemes.intern(lexeme);
+		return token;
+	}
+
+	/**
+	 * Consumes a single-character symbol or, if followed by {@code '='}, a
+	 * two-character symbol.
+	 * 
+	 * @param oneToken  The token of the single-character symbol.
+	 * @param oneLexeme The lexeme of the single-character symbol.
+	 * @param twoToken  The token of the two-character symbol.
+	 * @param twoLexeme The lexeme of the two-character symbol.
+	 * @return The token.
+	 */
+	private Symbol.Term readOneOrTwo(Symbol.Term oneToken, String oneLexeme, Symbol.Term twoToken, String twoLexeme) {
+		readNextCharacter();
+		if (character == '=') {
+			readNextCharacter();
+			lexemeId = lexemes.intern(twoLexeme);
+			return twoToken;
+		}
+		lexemeId = lexemes.intern(oneLexeme);
+		return oneToken;
+	}
+
+    // Helper Methods
+
+	private void readNextCharacter() {
+		if (srcPos < srcEnd)
+			character = srcBuf != null ? srcBuf[srcPos] : srcBytes.get(srcPos) & 0xFF;
+		else
+			character = -1;
+		srcPos++;
+		updateLocation();
+	}
+
+	private void updateLocation() {
+		endRowLocation = rowLocation;
+		endColumnLocation = columnLocation;
+		switch (character) {
+		case '\n':
+			rowLocation += 1;
+			columnLocation = 0;
+			break;
+		case '\t':
+			columnLocation += 8;
+			break;
+		default:
+			columnLocation++;
+		}
+	}
+
+	/**
+	 * Interns the current lexeme, i.e., the characters from {@link #lexemeBeg} up
+	 * to but not including {@link #character}.
+	 * 
+	 * @return The id of the current lexeme within {@link #lexemes}.
+	 */
+	private int internLexeme() {
+		int lexemeLen = Math.min(srcPos - 1, srcEnd) - lexemeBeg;
+		if (srcBuf != null)
+			return lexemes.intern(srcBuf, lexemeBeg, lexemeLen);
+		return lexemes.intern(srcBytes, lexemeBeg, lexemeLen);
+	}
+
+	private Symbol.Term newSymbol(Symbol.Term token) {
+		lexemeId = internLexeme();
+		return token;
+	}
+
+	private Symbol.Term readEOF() {
+		lexemeId = lexemes.intern("EOF");
+		return Symbol.Term.EOF;
+	}
+
+    private Location getLocation(){
+	    return new Location(startRowLocation, startColumnLocation, endRowLocation, endColumnLocation);
+    }
+
+    private LexError throwError(String message){
+        return new LexError(startRowLocation, startColumnLocation, endRowLocation, endColumnLocation,
+                String.format("[LexAn]: %s", message));
+    }
+}
@@ -3,8 +3,12 @@
  */
 package compiler.phases.seman;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import compiler.common.report.*;
 import compiler.data.abstree.*;
+import compiler.data.abstree.attribute.*;
 import compiler.data.abstree.visitor.*;
 import compiler.data.type.SemPtrType;
 
@@ -15,6 +19,52 @@ import compiler.data.type.SemPtrType;
  */
 public class AddrResolver extends AbsFullVisitor<Boolean, Object> {
 
+    /** The number of threads resolving top-level declarations. */
+    private final int threads;
+
+    /**
+     * Constructs a new address resolver. The number of threads resolving
+     * top-level declarations in parallel is set by {@code --seman-threads}.
+     */
+    public AddrResolver() {
+        this(compiler.Main.cmdLineArgValue("--seman-threads") == null ? 1
+                : Integer.parseInt(compiler.Main.cmdLineArgValue("--seman-threads")));
+    }
+
+    /**
+     * Constructs a new address resolver.
+     *
+     * @param threads The number of threads resolving top-level declarations in
+     *                parallel (or 1 if they should be resolved sequentially).
+     */
+    public AddrResolver(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Resolves top-level declarations, each by a worker on a
+     * {@link ForkJoinPool} if more than one thread is used (they are independent
+     * of each other and no errors are reported).
+     */
+    @Override
+    public Boolean visit(AbsSource source, Object visArg) {
+        if (threads == 1)
+            return super.visit(source, visArg);
+        if (!(SemAn.isAddr instanceof AbsConcurrentBoolAttribute))
+            throw new Report.InternalError();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Vector<ForkJoinTask<Boolean>> tasks = new Vector<ForkJoinTask<Boolean>>();
+            for (AbsDecl decl : source.decls.decls())
+                tasks.add(pool.submit(() -> decl.accept(this, visArg)));
+            for (ForkJoinTask<Boolean> task : tasks)
+                task.join();
+        } finally {
+            pool.shutdownNow();
+        }
+        return null;
+    }
+
     @Override
     public Boolean visit(AbsArrExpr expr, Object visArg) {
         expr.index.accept(this, visArg);
@@ -23,14 +23,73 @@ public class NameResolver extends AbsFullVisitor<Object, Object> {
 	private static final int VAR_FUN_DECLARATION_PH = 3;
 	private static final int FUNCTION_PH = 4;
 
+	/**
+	 * The first type name not found in {@link #VAR_FUN_TYP_CHECK_PH} (reported
+	 * once {@link #TYP_ELABOR_PH} is finished).
+	 */
+	private AbsTypName notFound = null;
+
 	@Override
 	public Object visit(AbsSource source, Object visArg) {
-		for (int i=0; i<5; i++){
-			source.decls.accept(this, i);
-		}
+		resolve(source.decls);
 		return null;
 	}
 
+	/**
+	 * Returns whether a declaration must be visited in the specified phase, i.e.,
+	 * the schedule of phases for each kind of declarations: type declarations in
+	 * {@link #TYP_DECLARATION_PH}, {@link #TYP_ELABOR_PH} and {@link #FUNCTION_PH},
+	 * variable and function declarations in {@link #VAR_FUN_TYP_CHECK_PH},
+	 * {@link #VAR_FUN_DECLARATION_PH} and {@link #FUNCTION_PH}. Only
+	 * {@link #FUNCTION_PH} descends into function bodies.
+	 * 
+	 * @param decl  The declaration.
+	 * @param phase The phase.
+	 * @return {@code true} if the declaration does anything in the phase.
+	 */
+	private static boolean isScheduled(AbsDecl decl, int phase) {
+		if (decl instanceof AbsTypDecl)
+			return phase == TYP_DECLARATION_PH || phase == TYP_ELABOR_PH || phase == FUNCTION_PH;
+		else
+			return phase == VAR_FUN_TYP_CHECK_PH || phase == VAR_FUN_DECLARATION_PH || phase == FUNCTION_PH;
+	}
+
+	/**
+	 * Resolves names in a list of declarations of the same scope. Each declaration
+	 * is visited only in the phases scheduled for its kind. As
+	 * {@link #TYP_ELABOR_PH} and {@link #VAR_FUN_TYP_CHECK_PH} only look names up,
+	 * they are fused into a single walk; a name not found in the latter is
+	 * reported only if the former finishes, i.e., the same error is reported as if
+	 * the phases were performed one after another.
+	 * 
+	 * @param decls The declarations.
+	 */
+	private void resolve(AbsDecls decls) {
+		int numDecls = decls.numDecls();
+		for (int index = 0; index < numDecls; index++) {
+			AbsDecl decl = decls.decl(index);
+			if (isScheduled(decl, TYP_DECLARATION_PH))
+				decl.accept(this, TYP_DECLARATION_PH);
+		}
+		notFound = null;
+		for (int index = 0; index < numDecls; index++) {
+			AbsDecl decl = decls.decl(index);
+			if (isScheduled(decl, TYP_ELABOR_PH))
+				decl.accept(this, TYP_ELABOR_PH);
+			else if (isScheduled(decl, VAR_FUN_TYP_CHECK_PH))
+				decl.accept(this, VAR_FUN_TYP_CHECK_PH);
+		}
+		if (notFound != null)
+			throw createSearchError(notFound);
+		for (int index = 0; index < numDecls; index++) {
+			AbsDecl decl = decls.decl(index);
+			if (isScheduled(decl, VAR_FUN_DECLARATION_PH))
+				decl.accept(this, VAR_FUN_DECLARATION_PH);
+		}
+		for (int index = 0; index < numDecls; index++)
+			decls.decl(index).accept(this, FUNCTION_PH);
+	}
+
 	@Override
 	public Object visit(AbsTypDecl decl, Object visArg){
 		try {
@@ -63,6 +122,11 @@ public class NameResolver extends AbsFullVisitor<Object, Object> {
 				SemAn.declaredAt.put(typName, declLocation);
 			}
 		} catch (SymbTable.CannotFndNameException e){
+			if ((int) visArg == VAR_FUN_TYP_CHECK_PH) {
+				if (notFound == null)
+					notFound = typName;
+				return null;
+			}
 			throw createSearchError(typName);
 		} catch (Exception e){
 			throw new Report.InternalError();
@@ -169,9 +233,7 @@ public class NameResolver extends AbsFullVisitor<Object, Object> {
 	@Override
 	public Object visit(AbsBlockExpr blockExpr, Object visArg){
 		symbTable.newScope();
-		for (int i=0; i<5; i++) {
-			blockExpr.decls.accept(this, i);
-		}
+		resolve(blockExpr.decls);
 		blockExpr.stmts.accept(this, visArg);
 		blockExpr.expr.accept(this, visArg);
 		symbTable.oldScope();
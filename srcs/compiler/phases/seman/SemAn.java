@@ -24,17 +24,60 @@ public class SemAn extends Phase {
 	/** Maps type expressions to types. */
 	public static final AbsAttribute<AbsType, SemType> isType = new AbsAttribute<AbsType, SemType>();
 
-	/** Maps value expressions to types. */
-	public static final AbsAttribute<AbsExpr, SemType> ofType = new AbsAttribute<AbsExpr, SemType>();
+	/**
+	 * Maps value expressions to types (an {@link AbsConcurrentAttribute} if
+	 * computed by many threads at once, see {@link #SemAn(int)}).
+	 */
+	public static AbsAttribute<AbsExpr, SemType> ofType = new AbsAttribute<AbsExpr, SemType>();
 
-	/** Denotes whether a value expression can denote an address. */
-	public static final AbsAttribute<AbsExpr, Boolean> isAddr = new AbsAttribute<AbsExpr, Boolean>();
+	/**
+	 * Denotes whether a value expression can denote an address (an
+	 * {@link AbsConcurrentBoolAttribute} if computed by many threads at once, see
+	 * {@link #SemAn(int)}).
+	 */
+	public static AbsBoolAttribute<AbsExpr> isAddr = new AbsBoolAttribute<AbsExpr>();
 
 	/**
-	 * Constructs a new phase of semantic analysis.
+	 * Constructs a new phase of semantic analysis. The number of threads
+	 * resolving top-level declarations is set by {@code --seman-threads}.
 	 */
 	public SemAn() {
+		this(compiler.Main.cmdLineArgValue("--seman-threads") == null ? 1
+				: Integer.parseInt(compiler.Main.cmdLineArgValue("--seman-threads")));
+	}
+
+	/**
+	 * Constructs a new phase of semantic analysis.
+	 * 
+	 * Attributes computed by {@link TypeResolver} and {@link AddrResolver} for
+	 * each top-level declaration separately are stored in concurrent attributes
+	 * only if more than one thread computes them.
+	 * 
+	 * @param threads The number of threads resolving top-level declarations.
+	 */
+	public SemAn(int threads) {
 		super("seman");
+		if (threads > 1) {
+			ofType = new AbsConcurrentAttribute<AbsExpr, SemType>();
+			isAddr = new AbsConcurrentBoolAttribute<AbsExpr>();
+		} else {
+			ofType = new AbsAttribute<AbsExpr, SemType>();
+			isAddr = new AbsBoolAttribute<AbsExpr>();
+		}
+	}
+
+	/**
+	 * Closes the phase and forgets the results of type matching queries and the
+	 * interned pointer and array types, which are needed by semantic analysis
+	 * only (types constructed afterwards are not interned with the types of the
+	 * program).
+	 */
+	@Override
+	public void close() {
+		SemType.clearMatchings();
+		SemPtrType.clearPtrTypes();
+		SemArrType.clearArrTypes();
+		super.close();
 	}
 
 }
@@ -40,8 +40,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(arrExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(arrExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(arrExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -61,8 +60,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(atomExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(atomExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(atomExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -82,8 +80,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(binExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(binExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(binExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -95,8 +92,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(blockExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(blockExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(blockExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -108,8 +104,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(castExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(castExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(castExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -121,8 +116,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(delExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(delExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(delExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -140,8 +134,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(funName);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(funName);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(funName)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -153,8 +146,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(newExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(newExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(newExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -174,8 +166,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(recExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(recExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(recExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -217,8 +208,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(unExpr);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(unExpr);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(unExpr)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -236,8 +226,7 @@ public class SemLogger extends AbsNullVisitor<Object, Object> {
 		SemType type = SemAn.ofType.get(varName);
 		if (type != null)
 			type.log(logger);
-		Boolean hasAddr = SemAn.isAddr.get(varName);
-		if ((hasAddr != null) && (hasAddr == true)) {
+		if (SemAn.isAddr.get(varName)) {
 			logger.begElement("addr");
 			logger.endElement();
 		}
@@ -4,9 +4,11 @@
 package compiler.phases.seman;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import compiler.common.report.*;
 import compiler.data.abstree.*;
+import compiler.data.abstree.attribute.*;
 import compiler.data.abstree.visitor.*;
 import compiler.data.type.*;
 import compiler.data.type.property.*;
@@ -29,15 +31,119 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
     //private final HashMap<SemRecType, SymbTable> symbTables = new HashMap<SemRecType, SymbTable>();
     public static final HashMap<SemRecType, SymbTable> symbTables = new HashMap<SemRecType, SymbTable>();
 
+    /**
+     * The number of threads checking the types of top-level declarations in
+     * {@link Phase#CheckTypes}.
+     */
+    private final int threads;
+
+    /** Whether this resolver is a worker checking a single top-level declaration. */
+    private final boolean worker;
+
+    /**
+     * Constructs a new type resolver. The number of threads checking the types of
+     * top-level declarations in parallel is set by {@code --seman-threads}.
+     */
+    public TypeResolver() {
+        this(compiler.Main.cmdLineArgValue("--seman-threads") == null ? 1
+                : Integer.parseInt(compiler.Main.cmdLineArgValue("--seman-threads")), false);
+    }
+
+    /**
+     * Constructs a new type resolver.
+     *
+     * @param threads The number of threads checking the types of top-level
+     *                declarations in parallel (or 1 if types should be checked
+     *                sequentially).
+     */
+    public TypeResolver(int threads) {
+        this(threads, false);
+    }
+
+    private TypeResolver(int threads, boolean worker) {
+        this.threads = threads;
+        this.worker = worker;
+    }
+
     @Override
     public SemType visit(AbsSource source, TypeResolver.Phase visArg) {
         super.visit(source, Phase.AddNamedTypes);
         super.visit(source, Phase.ResolveTyp);
         super.visit(source, Phase.MapTypes);
-        super.visit(source, Phase.CheckTypes);
+        if (threads > 1)
+            checkTypes(source.decls);
+        else
+            super.visit(source, Phase.CheckTypes);
         return null;
     }
 
+    /**
+     * Checks the types of top-level declarations in parallel.
+     *
+     * Once all named types are resolved and all types are mapped, the types of
+     * different top-level declarations (i.e., the bodies of top-level functions)
+     * can be checked independently, so each top-level declaration is checked by a
+     * worker on a {@link ForkJoinPool}. A worker reports no type errors: starting
+     * with the first declaration containing a type error, the rest of the
+     * declarations are checked sequentially so that the same error is reported as
+     * if all declarations were checked sequentially. Any other failure of a worker
+     * before that declaration fails the compilation.
+     *
+     * @param decls The top-level declarations.
+     */
+    private void checkTypes(AbsDecls decls) {
+        if (!(SemAn.ofType instanceof AbsConcurrentAttribute))
+            throw new Report.InternalError();
+        TypeResolver worker = new TypeResolver(1, true);
+        int numDecls = decls.numDecls();
+        int failed = numDecls;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Vector<ForkJoinTask<Boolean>> tasks = new Vector<ForkJoinTask<Boolean>>();
+            for (AbsDecl decl : decls.decls())
+                tasks.add(pool.submit(() -> worker.checkTypes(decl)));
+            for (int decl = 0; decl < numDecls; decl++) {
+                if (failed < numDecls)
+                    tasks.get(decl).quietlyJoin();
+                else if (!tasks.get(decl).join())
+                    failed = decl;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int decl = failed; decl < numDecls; decl++)
+            decls.decl(decl).accept(this, Phase.CheckTypes);
+    }
+
+    /**
+     * Checks the types of a single top-level declaration (by a worker).
+     *
+     * @param decl The declaration.
+     * @return {@code true} if the types have been checked, {@code false} if the
+     *         declaration contains a type error.
+     */
+    private boolean checkTypes(AbsDecl decl) {
+        try {
+            decl.accept(this, Phase.CheckTypes);
+            return true;
+        } catch (Bailout __) {
+            return false;
+        }
+    }
+
+    /**
+     * Thrown by a worker at a type error (which is not reported) to abandon the
+     * declaration being checked.
+     */
+    @SuppressWarnings("serial")
+    private static class Bailout extends java.lang.Error {
+
+        private Bailout() {
+            super(null, null, false, false);
+        }
+
+    }
+
     @Override
     public SemType visit(AbsTypDecl decl, TypeResolver.Phase visArg) {
         if (visArg == Phase.AddNamedTypes) {
@@ -127,19 +233,19 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             SemType type;
             switch (atom.type) {
                 case VOID: {
-                    type = new SemVoidType();
+                    type = SemVoidType.VOID;
                     break;
                 }
                 case BOOL: {
-                    type = new SemBoolType();
+                    type = SemBoolType.BOOL;
                     break;
                 }
                 case CHAR: {
-                    type = new SemCharType();
+                    type = SemCharType.CHAR;
                     break;
                 }
                 case INT: {
-                    type = new SemIntType();
+                    type = SemIntType.INT;
                     break;
                 }
                 default: {
@@ -170,10 +276,10 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             if (length < 1) {
                 throw createError(arr, "Array length should be a positive integer.");
             }
-            SemAn.ofType.put(arr.len, new SemIntType());
+            SemAn.ofType.put(arr.len, SemIntType.INT);
             SemType type = arr.elemType.accept(this, visArg);
 
-            SemType array = new SemArrType(length, type);
+            SemType array = SemArrType.get(length, type);
             SemAn.isType.put(arr, array);
             return array;
         } else if (visArg == Phase.MapTypes) {
@@ -243,7 +349,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
     public SemType visit(AbsPtrType ptr, TypeResolver.Phase visArg) {
         if (visArg == Phase.ResolveTyp) {
             SemType typ = ptr.ptdType.accept(this, visArg);
-            SemType type = new SemPtrType(typ);
+            SemType type = SemPtrType.get(typ);
             SemAn.isType.put(ptr, type);
             return type;
         } else if (visArg == Phase.MapTypes) {
@@ -258,32 +364,32 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
         if (visArg == Phase.CheckTypes) {
             switch (expr.type) {
                 case VOID: {
-                    SemType type = new SemVoidType();
+                    SemType type = SemVoidType.VOID;
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
                 case PTR: {
-                    SemType type = new SemPtrType(new SemVoidType());
+                    SemType type = SemPtrType.get(SemVoidType.VOID);
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
                 case BOOL: {
-                    SemType type = new SemBoolType();
+                    SemType type = SemBoolType.BOOL;
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
                 case CHAR: {
-                    SemType type = new SemCharType();
+                    SemType type = SemCharType.CHAR;
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
                 case INT: {
-                    SemType type = new SemIntType();
+                    SemType type = SemIntType.INT;
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
                 case STR: {
-                    SemType type = new SemPtrType(new SemCharType());
+                    SemType type = SemPtrType.get(SemCharType.CHAR);
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
@@ -304,7 +410,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             switch (expr.oper) {
                 case NOT: {
                     if (subExpr.actualType() instanceof SemBoolType) {
-                        SemType type = new SemBoolType();
+                        SemType type = SemBoolType.BOOL;
                         SemAn.ofType.put(expr, type);
                         return type;
                     } else {
@@ -314,7 +420,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                 case ADD:
                 case SUB: {
                     if (subExpr.actualType() instanceof SemIntType) {
-                        SemType type = new SemIntType();
+                        SemType type = SemIntType.INT;
                         SemAn.ofType.put(expr, type);
                         return type;
                     } else {
@@ -325,7 +431,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                     if (subExpr.actualType() instanceof SemVoidType) {
                         throw createError(expr, "Type of expression should not be VOID.");
                     }
-                    SemType type = new SemPtrType(subExpr);
+                    SemType type = SemPtrType.get(subExpr);
                     SemAn.ofType.put(expr, type);
                     return type;
                 }
@@ -363,7 +469,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                 case XOR: {
                     if (typeFst.matches(typeScd)) {
                         if (typeFst instanceof SemBoolType) {
-                            SemType type = new SemBoolType();
+                            SemType type = SemBoolType.BOOL;
                             SemAn.ofType.put(expr, type);
                             return type;
                         } else {
@@ -380,7 +486,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                 case MOD: {
                     if (typeFst.matches(typeScd)) {
                         if (typeFst instanceof SemIntType || typeFst instanceof SemCharType) {
-                            SemType type = new SemIntType();
+                            SemType type = SemIntType.INT;
                             SemAn.ofType.put(expr, type);
                             return type;
                         } else {
@@ -395,7 +501,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                     if (typeFst.matches(typeScd)) {
                         if ((typeFst instanceof SemBoolType || typeFst instanceof SemCharType
                                 || typeFst instanceof SemIntType || typeScd instanceof SemPtrType)) {
-                            SemType type = new SemBoolType();
+                            SemType type = SemBoolType.BOOL;
                             SemAn.ofType.put(expr, type);
                             return type;
                         } else {
@@ -403,7 +509,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                         }
                     /*
                     } else if(typeFst instanceof SemPtrType && typeScd instanceof SemPtrType){
-                        SemType type = new SemBoolType();
+                        SemType type = SemBoolType.BOOL;
                         SemAn.ofType.put(expr, type);
                         return type;
                     */
@@ -418,7 +524,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                     if (typeFst.matches(typeScd)) {
                         if (typeFst instanceof SemCharType || typeFst instanceof SemIntType
                                 || typeFst instanceof SemPtrType) {
-                            SemType type = new SemBoolType();
+                            SemType type = SemBoolType.BOOL;
                             SemAn.ofType.put(expr, type);
                             return type;
                         } else {
@@ -445,7 +551,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             if (type.actualType() instanceof SemVoidType) {
                 throw createError(expr, "New expression cannot be of type VOID.");
             }
-            SemType exprType = new SemPtrType(type);
+            SemType exprType = SemPtrType.get(type);
             SemAn.ofType.put(expr, exprType);
             return exprType;
         } else if (visArg == Phase.CheckTypes) {
@@ -596,7 +702,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             stmt.expr.accept(this, visArg);
         } else if (visArg == Phase.CheckTypes) {
             stmt.expr.accept(this, visArg);
-            return new SemVoidType();
+            return SemVoidType.VOID;
         }
         return null;
     }
@@ -613,7 +719,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
                 if (dstType instanceof SemBoolType || dstType instanceof SemIntType
                         || dstType instanceof SemPtrType || dstType instanceof SemCharType) {
                     //SemAn.ofType.put(stmt, type){
-                    return new SemVoidType();
+                    return SemVoidType.VOID;
                 } else {
                     throw createError(stmt, "Destination and source expressions should be of type INT, CHAR, BOOL or PTR");
                 }
@@ -644,7 +750,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             if (!(ifStmt.cond.accept(this, visArg).actualType() instanceof SemBoolType)) {
                 throw createError(ifStmt, "Condition should be of BOOL type.");
             }
-            return new SemVoidType();
+            return SemVoidType.VOID;
         }
         return null;
     }
@@ -663,7 +769,7 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
             if (!(whileStmt.cond.accept(this, visArg).actualType() instanceof SemBoolType)) {
                 throw createError(whileStmt, "Condition should be of BOOL type.");
             }
-            return new SemVoidType();
+            return SemVoidType.VOID;
         }
         return null;
     }
@@ -699,7 +805,9 @@ public class TypeResolver extends AbsFullVisitor<SemType, TypeResolver.Phase> {
         return null;
     }
 
-    private Report.Error createError(AbsTree node, String error) {
+    private java.lang.Error createError(AbsTree node, String error) {
+        if (worker)
+            return new Bailout();
         return new Report.Error(node, "[TypeResolver] " + error);
     }
 }
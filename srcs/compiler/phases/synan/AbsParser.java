@@ -0,0 +1,1228 @@
+/**
+ * @author sliva
+ */
+package compiler.phases.synan;
+
+import java.util.*;
+import java.util.concurrent.*;
+import compiler.common.report.*;
+import compiler.data.symbol.*;
+import compiler.data.abstree.*;
+import compiler.phases.lexan.*;
+
+/**
+ * The parser constructing the abstract syntax tree directly.
+ * 
+ * It recognizes the same language and produces the same error messages as
+ * {@link SynAn#parser()} but instead of the derivation tree it constructs the
+ * abstract syntax tree, i.e., the same tree (with the same locations) as
+ * {@link compiler.phases.abstr.AbsTreeConstructor} constructs from the
+ * derivation tree. Lists and chains of binary operators are parsed by loops
+ * instead of by the right recursive helper nonterminals of the LL(1) grammar.
+ * 
+ * Unlike {@link SynAn#parser()}, it does not necessarily stop at the first
+ * syntax error: it reports up to the specified number of syntax errors,
+ * resynchronizing after each one at the nearest statement (after {@code ;} or
+ * before {@code end}, {@code else}, {@code :} or a closing brace) or
+ * declaration (before {@code fun}, {@code var} or {@code typ}).
+ * 
+ * @author sliva
+ */
+class AbsParser {
+
+	/** The lexical analyzer (or {@code null} if this is a worker parser). */
+	private final LexAn lexAn;
+
+	/** The stream of symbols read so far. */
+	private final TokenStream tokens;
+
+	/** The maximal number of syntax errors reported before the parser gives up. */
+	private final int maxErrors;
+
+	/** The number of threads parsing top-level declarations. */
+	private final int threads;
+
+	/** The index of the current symbol within {@link #tokens}. */
+	private int currIndex = -1;
+
+	/** The lookahead buffer (of length 1), i.e., the token of the current symbol. */
+	private Symbol.Term currToken = null;
+
+	/**
+	 * Constructs a new parser.
+	 * 
+	 * @param lexAn     The lexical analyzer.
+	 * @param tokens    The stream of symbols (empty).
+	 * @param maxErrors The maximal number of syntax errors reported.
+	 * @param threads   The number of threads parsing top-level declarations in
+	 *                  parallel (or 1 if the program should be parsed
+	 *                  sequentially).
+	 */
+	AbsParser(LexAn lexAn, TokenStream tokens, int maxErrors, int threads) {
+		this.lexAn = lexAn;
+		this.tokens = tokens;
+		this.maxErrors = maxErrors;
+		this.threads = threads;
+	}
+
+	/**
+	 * Constructs a new worker parser, i.e., a parser of a single top-level
+	 * declaration within the stream of all symbols of the program.
+	 * 
+	 * @param tokens   The stream of all symbols.
+	 * @param begIndex The index of the first symbol of the declaration.
+	 */
+	private AbsParser(TokenStream tokens, int begIndex) {
+		this.lexAn = null;
+		this.tokens = tokens;
+		this.maxErrors = 1;
+		this.threads = 1;
+		this.currIndex = begIndex - 1;
+		nextSymb();
+	}
+
+	/**
+	 * Parses the program.
+	 * 
+	 * @return The abstract syntax tree of the program.
+	 */
+	AbsSource source() {
+		nextSymb();
+		AbsDecls decls = (threads > 1) ? absDecls(threads) : absDecls(true);
+		if (numOfErrors > 0)
+			throw new Report.Error(String.format("[SynAn] %d syntax error(s).", numOfErrors));
+		return new AbsSource(decls, decls);
+	}
+
+	/**
+	 * Reads the next input symbol into the lookahead buffer. Symbols already in
+	 * the stream of symbols are not read again.
+	 */
+	private void nextSymb() {
+		if (currIndex + 1 < tokens.size())
+			currToken = tokens.token(++currIndex);
+		else if (lexAn != null) {
+			currToken = lexAn.lexer(tokens);
+			currIndex = tokens.size() - 1;
+		} else
+			throw new Bailout();
+	}
+
+	/**
+	 * Constructs the current symbol in the lookahead buffer.
+	 * 
+	 * @return The current symbol.
+	 */
+	private Symbol currSymb() {
+		return tokens.symbol(currIndex);
+	}
+
+	/**
+	 * Parses the top-level declarations in parallel.
+	 * 
+	 * All symbols of the program are read first. A top-level declaration begins
+	 * with {@code fun}, {@code var} or {@code typ} that follows {@code ;} outside
+	 * of any block expression, so the stream of symbols is split there and each
+	 * top-level declaration is parsed by its own worker parser on a
+	 * {@link ForkJoinPool}. The declarations are then collected in order. Starting
+	 * with the first declaration that a worker fails to parse (or that does not
+	 * end where the next one begins), the rest of the program is parsed
+	 * sequentially so that syntax errors (and lexical errors that are deferred
+	 * until the preceding symbols are consumed) are reported exactly as if the
+	 * entire program were parsed sequentially.
+	 * 
+	 * @param threads The number of threads.
+	 * @return The top-level declarations.
+	 */
+	private AbsDecls absDecls(int threads) {
+		lexAn.lexAll(tokens);
+		Vector<Integer> declBegs = new Vector<Integer>();
+		declBegs.add(currIndex);
+		int depth = 0;
+		for (int index = currIndex; index < tokens.size(); index++) {
+			switch (tokens.token(index)) {
+			case LBRACE:
+				depth++;
+				break;
+			case RBRACE:
+				if (depth > 0)
+					depth--;
+				break;
+			case FUN:
+			case VAR:
+			case TYP:
+				if ((depth == 0) && (index > currIndex) && (tokens.token(index - 1) == Symbol.Term.SEMIC))
+					declBegs.add(index);
+				break;
+			default:
+				break;
+			}
+		}
+		if (declBegs.size() == 1)
+			return absDecls(true);
+
+		Vector<AbsDecl> decls = new Vector<AbsDecl>();
+		int failed = -1;
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			Vector<ForkJoinTask<AbsDecl>> tasks = new Vector<ForkJoinTask<AbsDecl>>();
+			for (int decl = 0; decl < declBegs.size(); decl++) {
+				int declBeg = declBegs.get(decl);
+				int declEnd = decl < declBegs.size() - 1 ? declBegs.get(decl + 1) : -1;
+				tasks.add(pool.submit(() -> new AbsParser(tokens, declBeg).absDecl(declEnd)));
+			}
+			for (int decl = 0; decl < declBegs.size(); decl++) {
+				AbsDecl absDecl = tasks.get(decl).join();
+				if (absDecl == null) {
+					failed = decl;
+					break;
+				}
+				decls.add(absDecl);
+			}
+		} finally {
+			// Workers still parsing must finish before the rest is parsed sequentially.
+			pool.shutdownNow();
+			try {
+				pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException __) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (failed != -1) {
+			currIndex = declBegs.get(failed) - 1;
+			nextSymb();
+			decls.addAll(absDecls(true).decls());
+		}
+		return new AbsDecls(loc(decls), decls);
+	}
+
+	/**
+	 * Parses a single top-level declaration (by a worker parser).
+	 * 
+	 * @param endIndex The index of the symbol the declaration should end before
+	 *                 (or -1 if it is the last declaration).
+	 * @return The declaration or {@code null} if it cannot be parsed or does not
+	 *         end where expected.
+	 */
+	private AbsDecl absDecl(int endIndex) {
+		try {
+			AbsDecl decl = absDecl();
+			if ((endIndex == -1) ? (currToken == Symbol.Term.EOF) : (currIndex == endIndex))
+				return decl;
+		} catch (Bailout __) {
+		}
+		return null;
+	}
+
+	/** The number of syntax errors reported so far. */
+	private int numOfErrors = 0;
+
+	/** The index of the symbol the last syntax error has been reported at. */
+	private int errIndex = -1;
+
+	/**
+	 * Thrown after a syntax error has been reported to abandon the part of the
+	 * program being parsed until the parser resynchronizes.
+	 */
+	@SuppressWarnings("serial")
+	private static class Recovery extends java.lang.Error {
+
+		private Recovery() {
+			super(null, null, false, false);
+		}
+
+	}
+
+	/**
+	 * Thrown by a worker parser at a syntax error (which is not reported) to
+	 * abandon the declaration being parsed.
+	 */
+	@SuppressWarnings("serial")
+	private static class Bailout extends java.lang.Error {
+
+		private Bailout() {
+			super(null, null, false, false);
+		}
+
+	}
+
+	/**
+	 * Reports a syntax error at the current symbol. Once the maximal number of
+	 * syntax errors is reached, a {@link Report.Error} stopping the compilation is
+	 * returned, otherwise a {@link Recovery} is. An error at the same symbol as the
+	 * previous one is not reported again as it is caused by the previous one. A
+	 * worker parser reports nothing and returns a {@link Bailout}.
+	 * 
+	 * @param message The error message.
+	 * @return The error to be thrown.
+	 */
+	private java.lang.Error syntaxError(String message) {
+		if (lexAn == null)
+			return new Bailout();
+		if (currIndex != errIndex) {
+			errIndex = currIndex;
+			Report.Error error = new Report.Error(currSymb(), message);
+			if (++numOfErrors >= maxErrors)
+				return maxErrors == 1 ? error : new Report.Error("[SynAn] Too many syntax errors.");
+		}
+		return new Recovery();
+	}
+
+	/**
+	 * Returns the nesting depth of parentheses, brackets and braces within the
+	 * symbols from the specified one to the current one.
+	 * 
+	 * @param begIndex The index of the first symbol.
+	 * @return The nesting depth.
+	 */
+	private int depth(int begIndex) {
+		int depth = 0;
+		for (int index = begIndex; index < currIndex; index++) {
+			switch (tokens.token(index)) {
+			case LPARENTHESIS:
+			case LBRACKET:
+			case LBRACE:
+				depth++;
+				break;
+			case RPARENTHESIS:
+			case RBRACKET:
+			case RBRACE:
+				if (depth > 0)
+					depth--;
+				break;
+			default:
+				break;
+			}
+		}
+		return depth;
+	}
+
+	/**
+	 * Skips the rest of an erroneous declaration, i.e., skips symbols up to the
+	 * next {@code fun}, {@code var} or {@code typ} (or up to the brace closing
+	 * the enclosing block expression).
+	 * 
+	 * @param begIndex The index of the first symbol of the declaration.
+	 * @param topLevel Whether the declaration is a top-level declaration.
+	 * @return {@code true} if the next declaration follows, {@code false} if the
+	 *         list of declarations ends.
+	 */
+	private boolean resyncDecls(int begIndex, boolean topLevel) {
+		int depth = depth(begIndex);
+		while (true) {
+			switch (currToken) {
+			case FUN:
+			case VAR:
+			case TYP:
+				return true;
+			case EOF:
+				return false;
+			case LBRACE:
+				depth++;
+				break;
+			case RBRACE:
+				if ((depth == 0) && !topLevel)
+					return false;
+				if (depth > 0)
+					depth--;
+				break;
+			default:
+				break;
+			}
+			skip();
+		}
+	}
+
+	/**
+	 * Skips the rest of an erroneous statement, i.e., skips symbols up to and
+	 * including the next {@code ;} or up to {@code end}, {@code else}, {@code :}
+	 * or a closing brace ending the list of statements. If {@code fun}, {@code var} or
+	 * {@code typ} is found, resynchronization is left to the enclosing
+	 * declaration.
+	 * 
+	 * @param begIndex The index of the first symbol of the statement.
+	 * @return {@code true} if the next statement follows, {@code false} if the list
+	 *         of statements ends.
+	 */
+	private boolean resyncStmts(int begIndex) {
+		int depth = depth(begIndex);
+		while (true) {
+			switch (currToken) {
+			case FUN:
+			case VAR:
+			case TYP:
+				throw new Recovery();
+			case EOF:
+				return false;
+			case SEMIC:
+				if (depth == 0) {
+					skip();
+					switch (currToken) {
+					case FUN:
+					case VAR:
+					case TYP:
+						throw new Recovery();
+					case COLON:
+					case END:
+					case ELSE:
+					case RBRACE:
+					case EOF:
+						return false;
+					default:
+						return true;
+					}
+				}
+				break;
+			case COLON:
+			case END:
+			case ELSE:
+				if (depth == 0)
+					return false;
+				break;
+			case LPARENTHESIS:
+			case LBRACKET:
+			case LBRACE:
+				depth++;
+				break;
+			case RPARENTHESIS:
+			case RBRACKET:
+			case RBRACE:
+				if (depth > 0)
+					depth--;
+				else if (currToken == Symbol.Term.RBRACE)
+					return false;
+				break;
+			default:
+				break;
+			}
+			skip();
+		}
+	}
+
+	/**
+	 * Replaces the current symbol with the next input symbol.
+	 * 
+	 * @return The index of the replaced symbol.
+	 */
+	private int skip() {
+		if (currToken == null)
+			throw new Report.InternalError();
+		int index = currIndex;
+		nextSymb();
+		return index;
+	}
+
+	/**
+	 * If the current symbol is the expected terminal, replaces it with the next
+	 * input symbol. Otherwise, produces the error message.
+	 * 
+	 * @param token The expected terminal.
+	 * @return The index of the replaced symbol.
+	 */
+	private int skip(Symbol.Term token) {
+		if (currToken == null)
+			throw new Report.InternalError();
+		if (currToken != token)
+			throw syntaxError(createErrorMessage(token));
+		int index = currIndex;
+		nextSymb();
+		return index;
+	}
+
+	/**
+	 * Returns the location of the symbols from the specified one to the last
+	 * replaced one.
+	 * 
+	 * @param begIndex The index of the first symbol.
+	 * @return The location.
+	 */
+	private Location loc(int begIndex) {
+		int endIndex = currIndex - 1;
+		return new Location(tokens.begLine(begIndex), tokens.begColumn(begIndex), tokens.endLine(endIndex),
+				tokens.endColumn(endIndex));
+	}
+
+	/**
+	 * Returns the location from the beginning of the specified part of the program
+	 * to the last replaced symbol.
+	 * 
+	 * @param beg The beginning of the part of the program.
+	 * @return The location.
+	 */
+	private Location loc(Locatable beg) {
+		return new Location(beg, tokens.location(currIndex - 1));
+	}
+
+	/**
+	 * Returns the location of a list, i.e., from its first to its last element.
+	 * 
+	 * @param elems The elements of the list.
+	 * @return The location (empty if the list is empty).
+	 */
+	private Location loc(Vector<? extends Locatable> elems) {
+		return elems.isEmpty() ? new Location(0, 0) : new Location(elems.firstElement(), elems.lastElement());
+	}
+
+	private AbsDecls absDecls(boolean topLevel) {
+		Vector<AbsDecl> decls = new Vector<AbsDecl>();
+		while (true) {
+			int begIndex = currIndex;
+			try {
+				decls.add(absDecl());
+				switch (currToken) {
+				case TYP:
+				case VAR:
+				case FUN:
+					break;
+				case EOF:
+				case RBRACE:
+					if (topLevel && (currToken == Symbol.Term.RBRACE))
+						throw syntaxError("Unexpected '" + currSymb() + "' at the end of a program.");
+					return new AbsDecls(loc(decls), decls);
+				default:
+					throw createError("DeclsRest (Declaration)");
+				}
+			} catch (Recovery __) {
+				if (!resyncDecls(begIndex, topLevel))
+					return new AbsDecls(loc(decls), decls);
+			}
+		}
+	}
+
+	private AbsDecl absDecl() {
+		int begIndex = currIndex;
+		switch (currToken) {
+		case TYP:
+		case VAR: {
+			boolean isTyp = currToken == Symbol.Term.TYP;
+			skip();
+			String name = tokens.lexeme(skip(Symbol.Term.IDENTIFIER));
+			skip(Symbol.Term.COLON);
+			AbsType type = absType();
+			skip(Symbol.Term.SEMIC);
+			if (isTyp)
+				return new AbsTypDecl(loc(begIndex), name, type);
+			else
+				return new AbsVarDecl(loc(begIndex), name, type);
+		}
+		case FUN: {
+			skip();
+			String name = tokens.lexeme(skip(Symbol.Term.IDENTIFIER));
+			skip(Symbol.Term.LPARENTHESIS);
+			AbsParDecls parDecls = absParDecls();
+			skip(Symbol.Term.RPARENTHESIS);
+			skip(Symbol.Term.COLON);
+			AbsType type = absType();
+			AbsExpr body = absBody();
+			skip(Symbol.Term.SEMIC);
+			if (body == null)
+				return new AbsFunDecl(loc(begIndex), name, parDecls, type);
+			else
+				return new AbsFunDef(loc(begIndex), name, parDecls, type, body);
+		}
+		default:
+			throw createError("Decl (Declaration)");
+		}
+	}
+
+	private AbsParDecls absParDecls() {
+		Vector<AbsParDecl> parDecls = new Vector<AbsParDecl>();
+		if (currToken == Symbol.Term.RPARENTHESIS)
+			return new AbsParDecls(new Location(0, 0), parDecls);
+		while (true) {
+			int begIndex = currIndex;
+			if (currToken != Symbol.Term.IDENTIFIER)
+				throw createError("ParDecl (Parameter Declaration)");
+			String name = tokens.lexeme(skip());
+			skip(Symbol.Term.COLON);
+			AbsType type = absType();
+			parDecls.add(new AbsParDecl(loc(begIndex), name, type));
+			switch (currToken) {
+			case RPARENTHESIS:
+				return new AbsParDecls(new Location(parDecls.firstElement(), parDecls.lastElement()), parDecls);
+			case COMMA:
+				skip();
+				break;
+			default:
+				throw createError("ParDeclsRest (Parameter Declaration)");
+			}
+		}
+	}
+
+	private AbsExpr absBody() {
+		switch (currToken) {
+		case SEMIC:
+			return null;
+		case ASSIGN:
+			skip();
+			return absDisjExpr();
+		default:
+			throw createError("BodyEps (Function Body)");
+		}
+	}
+
+	private AbsType absType() {
+		int begIndex = currIndex;
+		switch (currToken) {
+		case IDENTIFIER:
+			return new AbsTypName(loc(skip()), tokens.lexeme(begIndex));
+		case VOID:
+			skip();
+			return new AbsAtomType(loc(begIndex), AbsAtomType.Type.VOID);
+		case INT:
+			skip();
+			return new AbsAtomType(loc(begIndex), AbsAtomType.Type.INT);
+		case CHAR:
+			skip();
+			return new AbsAtomType(loc(begIndex), AbsAtomType.Type.CHAR);
+		case BOOL:
+			skip();
+			return new AbsAtomType(loc(begIndex), AbsAtomType.Type.BOOL);
+		case LPARENTHESIS: {
+			skip();
+			AbsType type = absType();
+			skip(Symbol.Term.RPARENTHESIS);
+			return type;
+		}
+		case ARR: {
+			skip();
+			skip(Symbol.Term.LBRACKET);
+			AbsExpr len = absDisjExpr();
+			skip(Symbol.Term.RBRACKET);
+			AbsType elemType = absType();
+			return new AbsArrType(loc(begIndex), len, elemType);
+		}
+		case PTR: {
+			skip();
+			AbsType subType = absType();
+			return new AbsPtrType(loc(begIndex), subType);
+		}
+		case REC: {
+			skip();
+			skip(Symbol.Term.LPARENTHESIS);
+			AbsCompDecls compDecls = absCompDecls();
+			skip(Symbol.Term.RPARENTHESIS);
+			return new AbsRecType(loc(begIndex), compDecls);
+		}
+		default:
+			throw createError("Type");
+		}
+	}
+
+	private AbsCompDecls absCompDecls() {
+		Vector<AbsCompDecl> compDecls = new Vector<AbsCompDecl>();
+		while (true) {
+			int begIndex = currIndex;
+			if (currToken != Symbol.Term.IDENTIFIER)
+				throw createError("CompDecl (Compound Declaration)");
+			String name = tokens.lexeme(skip());
+			skip(Symbol.Term.COLON);
+			AbsType type = absType();
+			compDecls.add(new AbsCompDecl(loc(begIndex), name, type));
+			switch (currToken) {
+			case RPARENTHESIS:
+				return new AbsCompDecls(new Location(compDecls.firstElement(), compDecls.lastElement()), compDecls);
+			case COMMA:
+				skip();
+				break;
+			default:
+				throw createError("CompDeclsRest (Compound Declaration)");
+			}
+		}
+	}
+
+	/**
+	 * Constructs a left associative chain of binary expressions. As in the
+	 * abstract syntax tree constructed from the derivation tree, each binary
+	 * expression spans from the beginning of its first operand to the end of the
+	 * entire chain, i.e., to the last replaced symbol.
+	 * 
+	 * @param fstExpr  The first operand of the chain.
+	 * @param opers    The operators (or {@code null} if there are none).
+	 * @param sndExprs The remaining operands (or {@code null} if there are none).
+	 * @return The chain of binary expressions.
+	 */
+	private AbsExpr absBinExprs(AbsExpr fstExpr, Vector<AbsBinExpr.Oper> opers, Vector<AbsExpr> sndExprs) {
+		if (opers == null)
+			return fstExpr;
+		Location end = tokens.location(currIndex - 1);
+		AbsExpr expr = fstExpr;
+		for (int oper = 0; oper < opers.size(); oper++)
+			expr = new AbsBinExpr(new Location(expr, end), opers.get(oper), expr, sndExprs.get(oper));
+		return expr;
+	}
+
+	private AbsExpr absDisjExpr() {
+		AbsExpr fstExpr = absConjExpr();
+		Vector<AbsBinExpr.Oper> opers = null;
+		Vector<AbsExpr> sndExprs = null;
+		while (true) {
+			switch (currToken) {
+			case COLON:
+			case SEMIC:
+			case RPARENTHESIS:
+			case COMMA:
+			case ASSIGN:
+			case RBRACKET:
+			case WHERE:
+			case THEN:
+			case DO:
+			case RBRACE:
+				return absBinExprs(fstExpr, opers, sndExprs);
+			case IOR:
+			case XOR:
+				if (opers == null) {
+					opers = new Vector<AbsBinExpr.Oper>();
+					sndExprs = new Vector<AbsExpr>();
+				}
+				opers.add(currToken == Symbol.Term.IOR ? AbsBinExpr.Oper.IOR : AbsBinExpr.Oper.XOR);
+				skip();
+				sndExprs.add(absConjExpr());
+				break;
+			default:
+				throw createError("DisjExprRest (Disjunctive Expression)");
+			}
+		}
+	}
+
+	private AbsExpr absConjExpr() {
+		AbsExpr fstExpr = absRelExpr();
+		Vector<AbsBinExpr.Oper> opers = null;
+		Vector<AbsExpr> sndExprs = null;
+		while (true) {
+			switch (currToken) {
+			case COLON:
+			case SEMIC:
+			case RPARENTHESIS:
+			case COMMA:
+			case ASSIGN:
+			case RBRACKET:
+			case RBRACE:
+			case WHERE:
+			case THEN:
+			case DO:
+			case IOR:
+			case XOR:
+				return absBinExprs(fstExpr, opers, sndExprs);
+			case AND:
+				if (opers == null) {
+					opers = new Vector<AbsBinExpr.Oper>();
+					sndExprs = new Vector<AbsExpr>();
+				}
+				opers.add(AbsBinExpr.Oper.AND);
+				skip();
+				sndExprs.add(absRelExpr());
+				break;
+			default:
+				throw createError("ConjExprRest (Conjunctive Expression)");
+			}
+		}
+	}
+
+	private AbsExpr absRelExpr() {
+		AbsExpr fstExpr = absAddExpr();
+		AbsBinExpr.Oper oper;
+		switch (currToken) {
+		case COLON:
+		case SEMIC:
+		case RPARENTHESIS:
+		case COMMA:
+		case ASSIGN:
+		case RBRACKET:
+		case RBRACE:
+		case WHERE:
+		case THEN:
+		case DO:
+		case IOR:
+		case XOR:
+		case AND:
+			return fstExpr;
+		case EQU:
+			oper = AbsBinExpr.Oper.EQU;
+			break;
+		case NEQ:
+			oper = AbsBinExpr.Oper.NEQ;
+			break;
+		case LEQ:
+			oper = AbsBinExpr.Oper.LEQ;
+			break;
+		case GEQ:
+			oper = AbsBinExpr.Oper.GEQ;
+			break;
+		case LTH:
+			oper = AbsBinExpr.Oper.LTH;
+			break;
+		case GTH:
+			oper = AbsBinExpr.Oper.GTH;
+			break;
+		default:
+			throw createError("RelExprRest (Relational Expression)");
+		}
+		skip();
+		AbsExpr sndExpr = absAddExpr();
+		return new AbsBinExpr(loc(fstExpr), oper, fstExpr, sndExpr);
+	}
+
+	private AbsExpr absAddExpr() {
+		AbsExpr fstExpr = absMulExpr();
+		Vector<AbsBinExpr.Oper> opers = null;
+		Vector<AbsExpr> sndExprs = null;
+		while (true) {
+			switch (currToken) {
+			case COLON:
+			case SEMIC:
+			case RPARENTHESIS:
+			case COMMA:
+			case ASSIGN:
+			case RBRACKET:
+			case RBRACE:
+			case WHERE:
+			case THEN:
+			case DO:
+			case IOR:
+			case XOR:
+			case AND:
+			case EQU:
+			case NEQ:
+			case LEQ:
+			case GEQ:
+			case LTH:
+			case GTH:
+				return absBinExprs(fstExpr, opers, sndExprs);
+			case ADD:
+			case SUB:
+				if (opers == null) {
+					opers = new Vector<AbsBinExpr.Oper>();
+					sndExprs = new Vector<AbsExpr>();
+				}
+				opers.add(currToken == Symbol.Term.ADD ? AbsBinExpr.Oper.ADD : AbsBinExpr.Oper.SUB);
+				skip();
+				sndExprs.add(absMulExpr());
+				break;
+			default:
+				throw createError("AddExprRest (Additive Expression)");
+			}
+		}
+	}
+
+	private AbsExpr absMulExpr() {
+		AbsExpr fstExpr = absPrefExpr();
+		Vector<AbsBinExpr.Oper> opers = null;
+		Vector<AbsExpr> sndExprs = null;
+		while (true) {
+			switch (currToken) {
+			case COLON:
+			case SEMIC:
+			case RPARENTHESIS:
+			case COMMA:
+			case ASSIGN:
+			case RBRACKET:
+			case RBRACE:
+			case WHERE:
+			case THEN:
+			case DO:
+			case IOR:
+			case XOR:
+			case AND:
+			case EQU:
+			case NEQ:
+			case LEQ:
+			case GEQ:
+			case LTH:
+			case GTH:
+			case ADD:
+			case SUB:
+				return absBinExprs(fstExpr, opers, sndExprs);
+			case MUL:
+			case DIV:
+			case MOD:
+				if (opers == null) {
+					opers = new Vector<AbsBinExpr.Oper>();
+					sndExprs = new Vector<AbsExpr>();
+				}
+				opers.add(currToken == Symbol.Term.MUL ? AbsBinExpr.Oper.MUL
+						: (currToken == Symbol.Term.DIV ? AbsBinExpr.Oper.DIV : AbsBinExpr.Oper.MOD));
+				skip();
+				sndExprs.add(absPrefExpr());
+				break;
+			default:
+				throw createError("MulExprRest (Multiplicative Expression)");
+			}
+		}
+	}
+
+	private AbsExpr absPrefExpr() {
+		int begIndex = currIndex;
+		AbsUnExpr.Oper oper;
+		switch (currToken) {
+		case IDENTIFIER:
+		case LPARENTHESIS:
+		case LBRACE:
+		case CHARCONST:
+		case BOOLCONST:
+		case INTCONST:
+		case PTRCONST:
+		case STRCONST:
+		case VOIDCONST:
+			return absPstfExpr();
+		case ADD:
+			oper = AbsUnExpr.Oper.ADD;
+			break;
+		case SUB:
+			oper = AbsUnExpr.Oper.SUB;
+			break;
+		case NOT:
+			oper = AbsUnExpr.Oper.NOT;
+			break;
+		case DATA:
+			oper = AbsUnExpr.Oper.DATA;
+			break;
+		case ADDR:
+			oper = AbsUnExpr.Oper.ADDR;
+			break;
+		case NEW: {
+			skip();
+			skip(Symbol.Term.LPARENTHESIS);
+			AbsType type = absType();
+			skip(Symbol.Term.RPARENTHESIS);
+			return new AbsNewExpr(loc(begIndex), type);
+		}
+		case DEL: {
+			skip();
+			skip(Symbol.Term.LPARENTHESIS);
+			AbsExpr expr = absDisjExpr();
+			skip(Symbol.Term.RPARENTHESIS);
+			return new AbsDelExpr(loc(begIndex), expr);
+		}
+		default:
+			throw createError("PrefExpr (Prefix Expression)");
+		}
+		skip();
+		AbsExpr subExpr = absPrefExpr();
+		return new AbsUnExpr(loc(begIndex), oper, subExpr);
+	}
+
+	private AbsExpr absPstfExpr() {
+		AbsExpr expr = absExpr();
+		Vector<Integer> begIndices = null;
+		Vector<AbsExpr> subExprs = null;
+		while (true) {
+			switch (currToken) {
+			case COLON:
+			case SEMIC:
+			case RPARENTHESIS:
+			case RBRACE:
+			case COMMA:
+			case ASSIGN:
+			case RBRACKET:
+			case WHERE:
+			case THEN:
+			case DO:
+			case IOR:
+			case XOR:
+			case AND:
+			case EQU:
+			case NEQ:
+			case LEQ:
+			case GEQ:
+			case LTH:
+			case GTH:
+			case ADD:
+			case SUB:
+			case MUL:
+			case DIV:
+			case MOD: {
+				if (begIndices == null)
+					return expr;
+				// As in the abstract syntax tree constructed from the derivation tree,
+				// each postfix expression spans from its operator to the end of the
+				// entire chain.
+				int endIndex = currIndex - 1;
+				for (int sub = 0; sub < begIndices.size(); sub++) {
+					int begIndex = begIndices.get(sub);
+					Location location = new Location(tokens.begLine(begIndex), tokens.begColumn(begIndex),
+							tokens.endLine(endIndex), tokens.endColumn(endIndex));
+					if (tokens.token(begIndex) == Symbol.Term.DOT)
+						expr = new AbsRecExpr(location, expr, (AbsVarName) subExprs.get(sub));
+					else
+						expr = new AbsArrExpr(location, expr, subExprs.get(sub));
+				}
+				return expr;
+			}
+			case DOT: {
+				if (begIndices == null) {
+					begIndices = new Vector<Integer>();
+					subExprs = new Vector<AbsExpr>();
+				}
+				begIndices.add(skip());
+				int index = skip(Symbol.Term.IDENTIFIER);
+				subExprs.add(new AbsVarName(tokens.location(index), tokens.lexeme(index)));
+				break;
+			}
+			case LBRACKET: {
+				if (begIndices == null) {
+					begIndices = new Vector<Integer>();
+					subExprs = new Vector<AbsExpr>();
+				}
+				begIndices.add(skip());
+				subExprs.add(absDisjExpr());
+				skip(Symbol.Term.RBRACKET);
+				break;
+			}
+			default:
+				throw createError("PstfExprRest (Postfix Expression)");
+			}
+		}
+	}
+
+	private AbsExpr absExpr() {
+		int begIndex = currIndex;
+		switch (currToken) {
+		case IDENTIFIER:
+		case CHARCONST:
+		case BOOLCONST:
+		case INTCONST:
+		case STRCONST:
+		case PTRCONST:
+		case VOIDCONST:
+			return absAtomExpr();
+		case LBRACE: {
+			skip();
+			AbsStmts stmts = absStmts();
+			skip(Symbol.Term.COLON);
+			AbsExpr expr = absDisjExpr();
+			AbsDecls decls;
+			switch (currToken) {
+			case WHERE:
+				skip();
+				decls = absDecls(false);
+				break;
+			case RBRACE:
+				decls = new AbsDecls(new Location(0, 0), new Vector<AbsDecl>());
+				break;
+			default:
+				throw createError("WhereEps (Where)");
+			}
+			skip(Symbol.Term.RBRACE);
+			return new AbsBlockExpr(loc(begIndex), decls, stmts, expr);
+		}
+		case LPARENTHESIS: {
+			skip();
+			AbsExpr expr = absDisjExpr();
+			switch (currToken) {
+			case RPARENTHESIS:
+				break;
+			case COLON:
+				skip();
+				AbsType type = absType();
+				expr = new AbsCastExpr(loc(expr), expr, type);
+				break;
+			default:
+				throw createError("CastEps (Cast Expression)");
+			}
+			skip(Symbol.Term.RPARENTHESIS);
+			return expr;
+		}
+		default:
+			throw createError("Expr (Expression)");
+		}
+	}
+
+	private AbsExpr absAtomExpr() {
+		int index = skip();
+		switch (tokens.token(index)) {
+		case CHARCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.CHAR, tokens.lexeme(index));
+		case BOOLCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.BOOL, tokens.lexeme(index));
+		case STRCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.STR, tokens.lexeme(index));
+		case INTCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.INT, tokens.lexeme(index));
+		case PTRCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.PTR, tokens.lexeme(index));
+		case VOIDCONST:
+			return new AbsAtomExpr(loc(index), AbsAtomExpr.Type.VOID, tokens.lexeme(index));
+		default:
+			break;
+		}
+		switch (currToken) {
+		case COLON:
+		case SEMIC:
+		case RPARENTHESIS:
+		case COMMA:
+		case ASSIGN:
+		case LBRACKET:
+		case RBRACKET:
+		case IOR:
+		case XOR:
+		case AND:
+		case EQU:
+		case NEQ:
+		case LEQ:
+		case GEQ:
+		case LTH:
+		case GTH:
+		case ADD:
+		case SUB:
+		case MUL:
+		case DIV:
+		case MOD:
+		case DOT:
+		case RBRACE:
+		case WHERE:
+		case THEN:
+		case DO:
+			return new AbsVarName(loc(index), tokens.lexeme(index));
+		case LPARENTHESIS: {
+			skip();
+			AbsArgs args = absArgs();
+			skip(Symbol.Term.RPARENTHESIS);
+			return new AbsFunName(loc(index), tokens.lexeme(index), args);
+		}
+		default:
+			throw createError("CallEps (Function Call)");
+		}
+	}
+
+	private AbsArgs absArgs() {
+		Vector<AbsExpr> args = new Vector<AbsExpr>();
+		if (currToken == Symbol.Term.RPARENTHESIS)
+			return new AbsArgs(new Location(0, 0), args);
+		while (true) {
+			args.add(absDisjExpr());
+			switch (currToken) {
+			case RPARENTHESIS:
+				return new AbsArgs(new Location(args.firstElement(), args.lastElement()), args);
+			case COMMA:
+				skip();
+				break;
+			default:
+				throw createError("ArgsRest (Arguments)");
+			}
+		}
+	}
+
+	private AbsStmts absStmts() {
+		Vector<AbsStmt> stmts = new Vector<AbsStmt>();
+		while (true) {
+			int begIndex = currIndex;
+			try {
+				stmts.add(absStmt());
+				switch (currToken) {
+				case IDENTIFIER:
+				case LPARENTHESIS:
+				case LBRACE:
+				case ADD:
+				case SUB:
+				case NOT:
+				case DATA:
+				case ADDR:
+				case NEW:
+				case DEL:
+				case IF:
+				case WHILE:
+				case VOIDCONST:
+				case BOOLCONST:
+				case INTCONST:
+				case PTRCONST:
+				case STRCONST:
+				case CHARCONST:
+					break;
+				case COLON:
+				case END:
+				case ELSE:
+					return new AbsStmts(loc(stmts), stmts);
+				default:
+					throw createError("StmtsRest (Statement)");
+				}
+			} catch (Recovery __) {
+				if (!resyncStmts(begIndex))
+					return new AbsStmts(loc(stmts), stmts);
+			}
+		}
+	}
+
+	private AbsStmt absStmt() {
+		int begIndex = currIndex;
+		switch (currToken) {
+		case IDENTIFIER:
+		case LPARENTHESIS:
+		case LBRACE:
+		case ADD:
+		case SUB:
+		case NOT:
+		case DATA:
+		case ADDR:
+		case NEW:
+		case DEL:
+		case VOIDCONST:
+		case BOOLCONST:
+		case INTCONST:
+		case PTRCONST:
+		case STRCONST:
+		case CHARCONST: {
+			AbsExpr expr = absDisjExpr();
+			AbsExpr src;
+			switch (currToken) {
+			case SEMIC:
+				src = null;
+				break;
+			case ASSIGN:
+				skip();
+				src = absDisjExpr();
+				break;
+			default:
+				throw createError("AssignEps (Assign Statement)");
+			}
+			skip(Symbol.Term.SEMIC);
+			if (src == null)
+				return new AbsExprStmt(loc(begIndex), expr);
+			else
+				return new AbsAssignStmt(loc(begIndex), expr, src);
+		}
+		case IF: {
+			skip();
+			AbsExpr cond = absDisjExpr();
+			skip(Symbol.Term.THEN);
+			AbsStmts thenStmts = absStmts();
+			AbsStmts elseStmts;
+			switch (currToken) {
+			case END:
+				elseStmts = new AbsStmts(new Location(0, 0), new Vector<AbsStmt>());
+				break;
+			case ELSE:
+				skip();
+				elseStmts = absStmts();
+				break;
+			default:
+				throw createError("ElseEps (Else)");
+			}
+			skip(Symbol.Term.END);
+			skip(Symbol.Term.SEMIC);
+			return new AbsIfStmt(loc(begIndex), cond, thenStmts, elseStmts);
+		}
+		case WHILE: {
+			skip();
+			AbsExpr cond = absDisjExpr();
+			skip(Symbol.Term.DO);
+			AbsStmts stmts = absStmts();
+			skip(Symbol.Term.END);
+			skip(Symbol.Term.SEMIC);
+			return new AbsWhileStmt(loc(begIndex), cond, stmts);
+		}
+		default:
+			throw createError("Stmt (Statement)");
+		}
+	}
+
+	private java.lang.Error createError(String nonterminal) {
+		return syntaxError(String.format("[SynAn] Symbol '%s' [%s] unexpected in nonterminal '%s'.", currSymb(),
+				currToken, nonterminal));
+	}
+
+	private String createErrorMessage(Symbol.Term expected) {
+		return String.format("[SynAn] Unexpected token: received %s instead of %s.", currToken, expected);
+	}
+
+}
@@ -3,9 +3,11 @@
  */
 package compiler.phases.synan;
 
+import java.util.*;
 import compiler.common.report.*;
 import compiler.data.symbol.*;
 import compiler.data.dertree.*;
+import compiler.data.abstree.*;
 import compiler.phases.*;
 import compiler.phases.lexan.*;
 
@@ -32,6 +34,7 @@ public class SynAn extends Phase {
 
 	@Override
 	public void close() {
+		PhaseStats.count("lexan", "tokens", numOfTokens());
 		lexAn.close();
 		super.close();
 	}
@@ -44,14 +47,46 @@ public class SynAn extends Phase {
 	 * implementation of an LL(1) parsing algorithm.
 	 */
 	public void parser() {
-		currSymb = lexAn.lexer();
+		nextSymb();
 		derTree = parseSource();
-		if (currSymb.token != Symbol.Term.EOF)
-			throw new Report.Error(currSymb, "Unexpected '" + currSymb + "' at the end of a program.");
+		if (currToken != Symbol.Term.EOF)
+			throw new Report.Error(currSymb(), "Unexpected '" + currSymb() + "' at the end of a program.");
 	}
 
-	/** The lookahead buffer (of length 1). */
-	private Symbol currSymb = null;
+	/** The stream of symbols read so far. */
+	private final TokenStream tokens = new TokenStream(LexAn.lexemes);
+
+	/**
+	 * Returns the number of tokens read so far (not counting EOF).
+	 * 
+	 * @return The number of tokens read so far.
+	 */
+	public int numOfTokens() {
+		return tokens.size() == 0 ? 0 : tokens.size() - 1;
+	}
+
+	/** The index of the current symbol within {@link #tokens}. */
+	private int currIndex = -1;
+
+	/** The lookahead buffer (of length 1), i.e., the token of the current symbol. */
+	private Symbol.Term currToken = null;
+
+	/**
+	 * Reads the next input symbol into the lookahead buffer.
+	 */
+	private void nextSymb() {
+		currToken = lexAn.lexer(tokens);
+		currIndex = tokens.size() - 1;
+	}
+
+	/**
+	 * Constructs the current symbol in the lookahead buffer.
+	 * 
+	 * @return The current symbol.
+	 */
+	private Symbol currSymb() {
+		return tokens.symbol(currIndex);
+	}
 
 	/**
 	 * Appends the current symbol in the lookahead buffer to a derivation tree node
@@ -63,10 +98,10 @@ public class SynAn extends Phase {
 	 *             parser.
 	 */
 	private void add(DerNode node) {
-		if (currSymb == null)
+		if (currToken == null)
 			throw new Report.InternalError();
-		node.add(new DerLeaf(currSymb));
-		currSymb = lexAn.lexer();
+		node.add(new DerLeaf(currSymb()));
+		nextSymb();
 	}
 
 	/**
@@ -74,21 +109,21 @@ public class SynAn extends Phase {
 	 * the lookahead buffer to a derivation tree node (typically the node of the
 	 * derivation tree that is currently being expanded by the parser) and replaces
 	 * the current symbol (just added) with the next input symbol. Otherwise,
-	 * produces the error message.
+	 * produces the error message (which is constructed only if the current symbol
+	 * is not the expected terminal).
 	 * 
-	 * @param node     The node of the derivation tree currently being expanded by
-	 *                 the parser.
-	 * @param token    The expected terminal.
-	 * @param errorMsg The error message.
+	 * @param node  The node of the derivation tree currently being expanded by the
+	 *              parser.
+	 * @param token The expected terminal.
 	 */
-	private void add(DerNode node, Symbol.Term token, String errorMsg) {
-		if (currSymb == null)
+	private void add(DerNode node, Symbol.Term token) {
+		if (currToken == null)
 			throw new Report.InternalError();
-		if (currSymb.token == token) {
-			node.add(new DerLeaf(currSymb));
-			currSymb = lexAn.lexer();
+		if (currToken == token) {
+			node.add(new DerLeaf(currSymb()));
+			nextSymb();
 		} else
-			throw new Report.Error(currSymb, errorMsg);
+			throw new Report.Error(currSymb(), createErrorMessage(token));
 	}
 
 	private DerNode parseSource() {
@@ -99,33 +134,38 @@ public class SynAn extends Phase {
 
 	private DerNode parseDecls(){
 		DerNode node = new DerNode(DerNode.Nont.Decls);
-		node.add(parseDecl());
-		node.add(parseDeclsRest());
+		DerNode decls = node;
+		while (decls != null) {
+			decls.add(parseDecl());
+			DerNode declsRest = new DerNode(DerNode.Nont.DeclsRest);
+			decls.add(declsRest);
+			decls = parseDeclsRest(declsRest);
+		}
 		return node;
 	}
 
 	private DerNode parseDecl(){
 		DerNode node = new DerNode(DerNode.Nont.Decl);
-		switch (currSymb.token){
+		switch (currToken){
 			case TYP:
 			case VAR: {
 				add(node);
-				add(node, Symbol.Term.IDENTIFIER, createErrorMessage(Symbol.Term.IDENTIFIER));
-				add(node, Symbol.Term.COLON, createErrorMessage(Symbol.Term.COLON));
+				add(node, Symbol.Term.IDENTIFIER);
+				add(node, Symbol.Term.COLON);
 				node.add(parseType());
-				add(node, Symbol.Term.SEMIC, createErrorMessage(Symbol.Term.SEMIC));
+				add(node, Symbol.Term.SEMIC);
 				break;
 			}
 			case FUN:{
 				add(node);
-				add(node, Symbol.Term.IDENTIFIER, createErrorMessage(Symbol.Term.IDENTIFIER));
-				add(node, Symbol.Term.LPARENTHESIS, createErrorMessage(Symbol.Term.LPARENTHESIS));
+				add(node, Symbol.Term.IDENTIFIER);
+				add(node, Symbol.Term.LPARENTHESIS);
 				node.add(parseParDeclsEps());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
-				add(node, Symbol.Term.COLON, createErrorMessage(Symbol.Term.COLON));
+				add(node, Symbol.Term.RPARENTHESIS);
+				add(node, Symbol.Term.COLON);
 				node.add(parseType());
 				node.add(parseBodyEps());
-				add(node, Symbol.Term.SEMIC, createErrorMessage(Symbol.Term.SEMIC));
+				add(node, Symbol.Term.SEMIC);
 				break;
 			}
 			default: {
@@ -135,29 +175,36 @@ public class SynAn extends Phase {
 		return node;
 	}
 
-	private DerNode parseDeclsRest(){
-		DerNode node = new DerNode(DerNode.Nont.DeclsRest);
-		switch (currSymb.token){
+	/**
+	 * Expands {@code DeclsRest} without expanding its {@code Decls} (which is left
+	 * to the loop in {@link #parseDecls()} so that long lists do not recurse).
+	 * 
+	 * @param node The node of {@code DeclsRest}.
+	 * @return The node of {@code Decls} to be expanded next or {@code null} if the
+	 *         list ends.
+	 */
+	private DerNode parseDeclsRest(DerNode node){
+		switch (currToken){
 			case TYP:
 			case VAR:
 			case FUN:{
-				node.add(parseDecls());
-				break;
+				DerNode decls = new DerNode(DerNode.Nont.Decls);
+				node.add(decls);
+				return decls;
 			}
 			case EOF:
 			case RBRACE: {
-				break;
+				return null;
 			}
 			default: {
                 throw createError("DeclsRest (Declaration)");
 			}
 		}
-		return node;
 	}
 
 	private DerNode parseParDeclsEps(){
 		DerNode node = new DerNode(DerNode.Nont.ParDeclsEps);
-		if (currSymb.token.equals(Symbol.Term.RPARENTHESIS)){
+		if (currToken.equals(Symbol.Term.RPARENTHESIS)){
 			return node;
 		} else {
 			node.add(parseParDecls());
@@ -167,16 +214,21 @@ public class SynAn extends Phase {
 
 	private DerNode parseParDecls(){
 		DerNode node = new DerNode(DerNode.Nont.ParDecls);
-		node.add(parseParDecl());
-		node.add(parseParDeclsRest());
+		DerNode parDecls = node;
+		while (parDecls != null) {
+			parDecls.add(parseParDecl());
+			DerNode parDeclsRest = new DerNode(DerNode.Nont.ParDeclsRest);
+			parDecls.add(parDeclsRest);
+			parDecls = parseParDeclsRest(parDeclsRest);
+		}
 		return node;
 	}
 
 	private DerNode parseParDecl(){
 		DerNode node = new DerNode(DerNode.Nont.ParDecl);
-		if (currSymb.token.equals(Symbol.Term.IDENTIFIER)) {
+		if (currToken.equals(Symbol.Term.IDENTIFIER)) {
 			add(node);
-			add(node, Symbol.Term.COLON, createErrorMessage(Symbol.Term.COLON));
+			add(node, Symbol.Term.COLON);
 			node.add(parseType());
 			return node;
 		} else {
@@ -184,27 +236,34 @@ public class SynAn extends Phase {
 		}
 	}
 
-	private DerNode parseParDeclsRest(){
-		DerNode node = new DerNode(DerNode.Nont.ParDeclsRest);
-		switch (currSymb.token){
+	/**
+	 * Expands {@code ParDeclsRest} without expanding its {@code ParDecls} (which
+	 * is left to the loop in {@link #parseParDecls()}).
+	 * 
+	 * @param node The node of {@code ParDeclsRest}.
+	 * @return The node of {@code ParDecls} to be expanded next or {@code null} if
+	 *         the list ends.
+	 */
+	private DerNode parseParDeclsRest(DerNode node){
+		switch (currToken){
 			case RPARENTHESIS:{
-				break;
+				return null;
 			}
 			case COMMA: {
 				add(node);
-				node.add(parseParDecls());
-				break;
+				DerNode parDecls = new DerNode(DerNode.Nont.ParDecls);
+				node.add(parDecls);
+				return parDecls;
 			}
 			default: {
 				throw createError("ParDeclsRest (Parameter Declaration)");
 			}
 		}
-		return node;
 	}
 
 	private DerNode parseBodyEps(){
 		DerNode node = new DerNode(DerNode.Nont.BodyEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case SEMIC: {
 				break;
 			}
@@ -221,7 +280,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseType(){
 		DerNode node = new DerNode(DerNode.Nont.Type);
-		switch (currSymb.token){
+		switch (currToken){
 			case IDENTIFIER:
 			case VOID:
 			case INT:
@@ -233,14 +292,14 @@ public class SynAn extends Phase {
 			case LPARENTHESIS:{
 				add(node);
 				node.add(parseType());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			case ARR: {
 				add(node);
-				add(node, Symbol.Term.LBRACKET, createErrorMessage(Symbol.Term.LBRACKET));
+				add(node, Symbol.Term.LBRACKET);
 				node.add(parseDisjExpr());
-				add(node, Symbol.Term.RBRACKET, createErrorMessage(Symbol.Term.RBRACKET));
+				add(node, Symbol.Term.RBRACKET);
 				node.add(parseType());
 				break;
 			}
@@ -251,9 +310,9 @@ public class SynAn extends Phase {
 			}
 			case REC: {
 				add(node);
-				add(node, Symbol.Term.LPARENTHESIS, createErrorMessage(Symbol.Term.LPARENTHESIS));
+				add(node, Symbol.Term.LPARENTHESIS);
 				node.add(parseCompDecls());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			default: {
@@ -265,16 +324,21 @@ public class SynAn extends Phase {
 
 	private DerNode parseCompDecls(){
 		DerNode node = new DerNode(DerNode.Nont.CompDecls);
-		node.add(parseCompDecl());
-		node.add(parseCompDeclsRest());
+		DerNode compDecls = node;
+		while (compDecls != null) {
+			compDecls.add(parseCompDecl());
+			DerNode compDeclsRest = new DerNode(DerNode.Nont.CompDeclsRest);
+			compDecls.add(compDeclsRest);
+			compDecls = parseCompDeclsRest(compDeclsRest);
+		}
 		return node;
 	}
 
 	private DerNode parseCompDecl(){
 		DerNode node = new DerNode(DerNode.Nont.CompDecl);
-		if (currSymb.token.equals(Symbol.Term.IDENTIFIER)){
+		if (currToken.equals(Symbol.Term.IDENTIFIER)){
 			add(node);
-			add(node, Symbol.Term.COLON,createErrorMessage(Symbol.Term.COLON));
+			add(node, Symbol.Term.COLON);
 			node.add(parseType());
 			return node;
 		} else {
@@ -282,22 +346,29 @@ public class SynAn extends Phase {
 		}
 	}
 
-	private DerNode parseCompDeclsRest(){
-		DerNode node = new DerNode(DerNode.Nont.CompDeclsRest);
-		switch (currSymb.token){
+	/**
+	 * Expands {@code CompDeclsRest} without expanding its {@code CompDecls} (which
+	 * is left to the loop in {@link #parseCompDecls()}).
+	 * 
+	 * @param node The node of {@code CompDeclsRest}.
+	 * @return The node of {@code CompDecls} to be expanded next or {@code null} if
+	 *         the list ends.
+	 */
+	private DerNode parseCompDeclsRest(DerNode node){
+		switch (currToken){
 			case RPARENTHESIS:{
-				break;
+				return null;
 			}
 			case COMMA:{
 				add(node);
-				node.add(parseCompDecls());
-				break;
+				DerNode compDecls = new DerNode(DerNode.Nont.CompDecls);
+				node.add(compDecls);
+				return compDecls;
 			}
 			default: {
 				throw createError("CompDeclsRest (Compound Declaration)");
 			}
 		}
-		return node;
 	}
 
 	private DerNode parseDisjExpr(){
@@ -309,7 +380,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseDisjExprRest(){
 		DerNode node = new DerNode(DerNode.Nont.DisjExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -345,7 +416,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseConjExprRest(){
 		DerNode node = new DerNode(DerNode.Nont.ConjExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -382,7 +453,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseRelExprRest(){
 		DerNode node = new DerNode(DerNode.Nont.RelExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -424,7 +495,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseAddExprRest(){
 		DerNode node = new DerNode(DerNode.Nont.AddExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -469,7 +540,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseMulExprRest(){
 		DerNode node = new DerNode(DerNode.Nont.MulExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -510,7 +581,7 @@ public class SynAn extends Phase {
 
 	private DerNode parsePrefExpr(){
 		DerNode node = new DerNode(DerNode.Nont.PrefExpr);
-		switch (currSymb.token){
+		switch (currToken){
 			case IDENTIFIER:
 			case LPARENTHESIS:
 			case LBRACE:
@@ -534,16 +605,16 @@ public class SynAn extends Phase {
 			}
 			case NEW: {
 				add(node);
-				add(node, Symbol.Term.LPARENTHESIS, createErrorMessage(Symbol.Term.LPARENTHESIS));
+				add(node, Symbol.Term.LPARENTHESIS);
 				node.add(parseType());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			case DEL: {
 				add(node);
-				add(node, Symbol.Term.LPARENTHESIS, createErrorMessage(Symbol.Term.LPARENTHESIS));
+				add(node, Symbol.Term.LPARENTHESIS);
 				node.add(parseDisjExpr());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			default: {
@@ -562,7 +633,7 @@ public class SynAn extends Phase {
 
 	private DerNode parsePstfExpRest(){
 		DerNode node = new DerNode(DerNode.Nont.PstfExprRest);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -591,14 +662,14 @@ public class SynAn extends Phase {
 			}
 			case DOT: {
 				add(node);
-				add(node, Symbol.Term.IDENTIFIER, createErrorMessage(Symbol.Term.IDENTIFIER));
+				add(node, Symbol.Term.IDENTIFIER);
 				node.add(parsePstfExpRest());
 				break;
 			}
 			case LBRACKET: {
 				add(node);
 				node.add(parseDisjExpr());
-				add(node, Symbol.Term.RBRACKET, createErrorMessage(Symbol.Term.RBRACKET));
+				add(node, Symbol.Term.RBRACKET);
 				node.add(parsePstfExpRest());
 				break;
 			}
@@ -611,7 +682,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseExpr(){
 		DerNode node = new DerNode(DerNode.Nont.Expr);
-		switch (currSymb.token){
+		switch (currToken){
 			case IDENTIFIER:
 			case CHARCONST:
 			case BOOLCONST:
@@ -625,17 +696,17 @@ public class SynAn extends Phase {
 			case LBRACE:{
 				add(node);
 				node.add(parseStmts());
-				add(node, Symbol.Term.COLON, createErrorMessage(Symbol.Term.COLON));
+				add(node, Symbol.Term.COLON);
 				node.add(parseDisjExpr());
 				node.add(parseWhereEps());
-				add(node, Symbol.Term.RBRACE, createErrorMessage(Symbol.Term.RBRACE));
+				add(node, Symbol.Term.RBRACE);
 				break;
 			}
 			case LPARENTHESIS: {
 				add(node);
 				node.add(parseDisjExpr());
 				node.add(parseCastEps());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			default: {
@@ -647,7 +718,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseAtomExpr(){
 		DerNode node = new DerNode(DerNode.Nont.AtomExpr);
-		if (currSymb.token.equals(Symbol.Term.IDENTIFIER)){
+		if (currToken.equals(Symbol.Term.IDENTIFIER)){
 			add(node);
 			node.add(parseCallEps());
 		} else {
@@ -658,7 +729,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseCallEps(){
 		DerNode node = new DerNode(DerNode.Nont.CallEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case COLON:
 			case SEMIC:
 			case RPARENTHESIS:
@@ -690,7 +761,7 @@ public class SynAn extends Phase {
 			case LPARENTHESIS: {
 				add(node);
 				node.add(parseArgsEps());
-				add(node, Symbol.Term.RPARENTHESIS, createErrorMessage(Symbol.Term.RPARENTHESIS));
+				add(node, Symbol.Term.RPARENTHESIS);
 				break;
 			}
 			default: {
@@ -703,11 +774,14 @@ public class SynAn extends Phase {
 
 	private DerNode parseArgsEps(){
 		DerNode node = new DerNode(DerNode.Nont.ArgsEps);
-		if (currSymb.token.equals(Symbol.Term.RPARENTHESIS)){
+		if (currToken.equals(Symbol.Term.RPARENTHESIS)){
 			return node;
 		} else {
 			node.add(parseArgs());
-			node.add(parseArgsRest());
+			DerNode argsRest = new DerNode(DerNode.Nont.ArgsRest);
+			node.add(argsRest);
+			while (argsRest != null)
+				argsRest = parseArgsRest(argsRest);
 			return node;
 		}
 	}
@@ -718,28 +792,35 @@ public class SynAn extends Phase {
 		return node;
 	}
 
-	private DerNode parseArgsRest(){
-		DerNode node = new DerNode(DerNode.Nont.ArgsRest);
-		switch (currSymb.token){
+	/**
+	 * Expands {@code ArgsRest} without expanding its {@code ArgsRest} (which is
+	 * left to the loop in {@link #parseArgsEps()}).
+	 * 
+	 * @param node The node of {@code ArgsRest}.
+	 * @return The node of {@code ArgsRest} to be expanded next or {@code null} if
+	 *         the list ends.
+	 */
+	private DerNode parseArgsRest(DerNode node){
+		switch (currToken){
 			case RPARENTHESIS: {
-				break;
+				return null;
 			}
 			case COMMA: {
 				add(node);
 				node.add(parseArgs());
-				node.add(parseArgsRest());
-				break;
+				DerNode argsRest = new DerNode(DerNode.Nont.ArgsRest);
+				node.add(argsRest);
+				return argsRest;
 			}
 			default: {
 				throw createError("ArgsRest (Arguments)");
 			}
 		}
-		return node;
 	}
 
 	private DerNode parseCastEps(){
 		DerNode node = new DerNode(DerNode.Nont.CastEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case RPARENTHESIS: {
 				break;
 			}
@@ -757,9 +838,9 @@ public class SynAn extends Phase {
 
 	private DerNode parseWhereEps(){
 		DerNode node = new DerNode(DerNode.Nont.WhereEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case WHERE: {
-				add(node, Symbol.Term.WHERE, "");
+				add(node);
 				node.add(parseDecls());
 				break;
 			}
@@ -775,14 +856,19 @@ public class SynAn extends Phase {
 
 	private DerNode parseStmts(){
 		DerNode node = new DerNode(DerNode.Nont.Stmts);
-		node.add(parseStmt());
-		node.add(parseStmtsRest());
+		DerNode stmts = node;
+		while (stmts != null) {
+			stmts.add(parseStmt());
+			DerNode stmtsRest = new DerNode(DerNode.Nont.StmtsRest);
+			stmts.add(stmtsRest);
+			stmts = parseStmtsRest(stmtsRest);
+		}
 		return node;
 	}
 
 	private DerNode parseStmt(){
 		DerNode node = new DerNode(DerNode.Nont.Stmt);
-		switch (currSymb.token){
+		switch (currToken){
 			case IDENTIFIER:
 			case LPARENTHESIS:
 			case LBRACE:
@@ -801,26 +887,26 @@ public class SynAn extends Phase {
 			case CHARCONST: {
 				node.add(parseDisjExpr());
 				node.add(parseAssignEps());
-				add(node, Symbol.Term.SEMIC, createErrorMessage(Symbol.Term.SEMIC));
+				add(node, Symbol.Term.SEMIC);
 				break;
 			}
 			case IF:{
 				add(node);
 				node.add(parseDisjExpr());
-				add(node,Symbol.Term.THEN, createErrorMessage(Symbol.Term.THEN));
+				add(node, Symbol.Term.THEN);
 				node.add(parseStmts());
 				node.add(parseElseEps());
-				add(node,Symbol.Term.END, createErrorMessage(Symbol.Term.END));
-				add(node,Symbol.Term.SEMIC, createErrorMessage(Symbol.Term.SEMIC));
+				add(node, Symbol.Term.END);
+				add(node, Symbol.Term.SEMIC);
 				break;
 			}
 			case WHILE: {
 				add(node);
 				node.add(parseDisjExpr());
-				add(node, Symbol.Term.DO, createErrorMessage(Symbol.Term.DO));
+				add(node, Symbol.Term.DO);
 				node.add(parseStmts());
-				add(node, Symbol.Term.END, createErrorMessage(Symbol.Term.END));
-				add(node, Symbol.Term.SEMIC, createErrorMessage(Symbol.Term.SEMIC));
+				add(node, Symbol.Term.END);
+				add(node, Symbol.Term.SEMIC);
 				break;
 			}
 			default: {
@@ -830,9 +916,16 @@ public class SynAn extends Phase {
 		return node;
 	}
 
-	private DerNode parseStmtsRest(){
-		DerNode node = new DerNode(DerNode.Nont.StmtsRest);
-		switch (currSymb.token){
+	/**
+	 * Expands {@code StmtsRest} without expanding its {@code Stmts} (which is left
+	 * to the loop in {@link #parseStmts()}).
+	 * 
+	 * @param node The node of {@code StmtsRest}.
+	 * @return The node of {@code Stmts} to be expanded next or {@code null} if the
+	 *         list ends.
+	 */
+	private DerNode parseStmtsRest(DerNode node){
+		switch (currToken){
 			case IDENTIFIER:
 			case LPARENTHESIS:
 			case LBRACE:
@@ -851,24 +944,24 @@ public class SynAn extends Phase {
 			case PTRCONST:
 			case STRCONST:
 			case CHARCONST:{
-				node.add(parseStmts());
-				break;
+				DerNode stmts = new DerNode(DerNode.Nont.Stmts);
+				node.add(stmts);
+				return stmts;
 			}
 			case COLON:
 			case END:
 			case ELSE:{
-				break;
+				return null;
 			}
 			default: {
 				throw createError("StmtsRest (Statement)");
 			}
 		}
-		return node;
 	}
 
 	private DerNode parseAssignEps(){
 		DerNode node = new DerNode(DerNode.Nont.AssignEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case SEMIC:{
 				break;
 			}
@@ -886,7 +979,7 @@ public class SynAn extends Phase {
 
 	private DerNode parseElseEps(){
 		DerNode node = new DerNode(DerNode.Nont.ElseEps);
-		switch (currSymb.token){
+		switch (currToken){
 			case END: {
 				break;
 			}
@@ -902,12 +995,41 @@ public class SynAn extends Phase {
 		return node;
 	}
 
+	/**
+	 * The parser constructing the abstract syntax tree directly (see
+	 * {@link AbsParser}). The number of syntax errors reported is limited by
+	 * {@code --syntax-errors} and the number of threads parsing top-level
+	 * declarations in parallel is set by {@code --synan-threads}.
+	 * 
+	 * @return The abstract syntax tree of the program.
+	 */
+	public AbsSource absParser() {
+		String maxErrors = compiler.Main.cmdLineArgValue("--syntax-errors");
+		String threads = compiler.Main.cmdLineArgValue("--synan-threads");
+		return absParser(maxErrors == null ? 1 : Integer.parseInt(maxErrors),
+				threads == null ? 1 : Integer.parseInt(threads));
+	}
+
+	/**
+	 * The parser constructing the abstract syntax tree directly (see
+	 * {@link AbsParser}).
+	 * 
+	 * @param maxErrors The maximal number of syntax errors reported.
+	 * @param threads   The number of threads parsing top-level declarations in
+	 *                  parallel (or 1 if the program should be parsed
+	 *                  sequentially).
+	 * @return The abstract syntax tree of the program.
+	 */
+	public AbsSource absParser(int maxErrors, int threads) {
+		return new AbsParser(lexAn, tokens, maxErrors, threads).source();
+	}
+
 	private Report.Error createError(String nonterminal){
-	    return new Report.Error(currSymb,
-				String.format("[SynAn] Symbol '%s' [%s] unexpected in nonterminal '%s'.", currSymb, currSymb.token, nonterminal));
+	    return new Report.Error(currSymb(),
+				String.format("[SynAn] Symbol '%s' [%s] unexpected in nonterminal '%s'.", currSymb(), currToken, nonterminal));
     }
 
     private String createErrorMessage(Symbol.Term expected){
-		return String.format("[SynAn] Unexpected token: received %s instead of %s.", currSymb.token, expected);
+		return String.format("[SynAn] Unexpected token: received %s instead of %s.", currToken, expected);
 	}
 }
@@ -6,4 +6,6 @@
 module prev {
 
 	requires java.xml;
+	requires java.management;
+	requires jdk.management;
 }